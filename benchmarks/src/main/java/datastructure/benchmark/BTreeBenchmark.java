@@ -0,0 +1,74 @@
+package datastructure.benchmark;
+
+import datastructure.AVLMap;
+import datastructure.BTreeMap;
+import datastructure.Map;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// 大规模随机Integer键下BTreeMap(不同fanout)与AVLMap的随机查找时间
+// 数据量远大于CPU缓存，每次查找的开销主要是访问节点时的缓存缺失，
+// 可以加上 -prof perfnorm 观察每次操作的 cache-misses / L1-dcache-load-misses
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class BTreeBenchmark {
+
+    // 访问序列的长度，必须是2的幂
+    private static final int ACCESSES = 1 << 20;
+
+    // BTreeMap-<fanout>
+    @Param({"AVLMap", "BTreeMap-16", "BTreeMap-32", "BTreeMap-64", "BTreeMap-128"})
+    public String implementation;
+
+    @Param({"100000", "1000000", "10000000"})
+    public int size;
+
+    private Map<Integer, Integer> map;
+    private Integer[] accesses;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        if (implementation.equals("AVLMap"))
+            map = new AVLMap<>();
+        else if (implementation.startsWith("BTreeMap-"))
+            map = new BTreeMap<>(Integer.parseInt(implementation.substring("BTreeMap-".length())));
+        else
+            throw new IllegalArgumentException("Unknown map " + implementation);
+
+        Random random = new Random(42);
+        Integer[] keys = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = random.nextInt();
+            map.add(keys[i], i);
+        }
+
+        // 查找的键都在map中，顺序随机
+        accesses = new Integer[ACCESSES];
+        for (int i = 0; i < ACCESSES; i++)
+            accesses[i] = keys[random.nextInt(size)];
+        cursor = 0;
+    }
+
+    @Benchmark
+    public Integer get() {
+        return map.get(accesses[cursor++ & (ACCESSES - 1)]);
+    }
+}
@@ -0,0 +1,157 @@
+package datastructure.benchmark;
+
+import datastructure.ConcurrentHashTable;
+import datastructure.HashTable;
+import datastructure.Map;
+import datastructure.Merger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+// 多线程共享一个Map时的吞吐量：ConcurrentHashTable对比用一把全局锁保护的HashTable
+// 读是get，写是merge(key, 1, +)，计数器场景
+// 直接运行main会依次用1/2/4/8/16个线程测试
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrentMapBenchmark {
+
+    private static final int ACCESSES = 1 << 16;
+    private static final Merger<Integer> SUM = (a, b) -> a + b;
+
+    @Param({"ConcurrentHashTable", "SynchronizedHashTable"})
+    public String implementation;
+
+    @Param({"100000"})
+    public int size;
+
+    @Param({"0.5", "0.9"})
+    public double readRatio;
+
+    private Map<Integer, Integer> map;
+
+    // 每个线程各自的访问序列
+    @State(Scope.Thread)
+    public static class Accesses {
+        private int[] keys;
+        private boolean[] reads;
+        private int cursor;
+
+        @Setup(Level.Trial)
+        public void setup(ConcurrentMapBenchmark benchmark) {
+            Random random = new Random(Thread.currentThread().getId());
+            keys = new int[ACCESSES];
+            reads = new boolean[ACCESSES];
+            for (int i = 0; i < ACCESSES; i++) {
+                keys[i] = random.nextInt(benchmark.size);
+                reads[i] = random.nextDouble() < benchmark.readRatio;
+            }
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        if (implementation.equals("ConcurrentHashTable"))
+            map = new ConcurrentHashTable<>();
+        else if (implementation.equals("SynchronizedHashTable"))
+            map = new SynchronizedMap<>(new HashTable<>());
+        else
+            throw new IllegalArgumentException("Unknown map " + implementation);
+        for (int k = 0; k < size; k++)
+            map.add(k, 0);
+    }
+
+    @Benchmark
+    public void readWrite(Accesses accesses, Blackhole bh) {
+        int i = accesses.cursor++ & (ACCESSES - 1);
+        if (accesses.reads[i])
+            bh.consume(map.get(accesses.keys[i]));
+        else
+            map.merge(accesses.keys[i], 1, SUM);
+    }
+
+    // 所有操作都用同一把锁保护的Map
+    static class SynchronizedMap<K, V> implements Map<K, V> {
+        private final Map<K, V> map;
+
+        SynchronizedMap(Map<K, V> map) {
+            this.map = map;
+        }
+
+        @Override
+        public synchronized void add(K key, V value) {
+            map.add(key, value);
+        }
+
+        @Override
+        public synchronized V remove(K key) {
+            return map.remove(key);
+        }
+
+        @Override
+        public synchronized boolean contains(K key) {
+            return map.contains(key);
+        }
+
+        @Override
+        public synchronized V get(K key) {
+            return map.get(key);
+        }
+
+        @Override
+        public synchronized void set(K key, V newValue) {
+            map.set(key, newValue);
+        }
+
+        @Override
+        public synchronized void merge(K key, V value, Merger<V> merger) {
+            map.merge(key, value, merger);
+        }
+
+        @Override
+        public synchronized V computeIfAbsent(K key, Function<K, V> mappingFunction) {
+            return map.computeIfAbsent(key, mappingFunction);
+        }
+
+        @Override
+        public synchronized int getSize() {
+            return map.getSize();
+        }
+
+        @Override
+        public synchronized boolean isEmpty() {
+            return map.isEmpty();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int threads : new int[]{1, 2, 4, 8, 16})
+            new Runner(new OptionsBuilder()
+                    .include(ConcurrentMapBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result("jmh-result-concurrent-" + threads + ".json")
+                    .build()).run();
+    }
+}
@@ -0,0 +1,95 @@
+package datastructure.benchmark;
+
+import datastructure.Array;
+import datastructure.ArrayQueue;
+import datastructure.LoopDeque;
+import datastructure.LoopQueue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// 队列中保持size个元素时一次出队加一次入队的开销
+// "Array"是改用LoopDeque之前ArrayQueue的做法：Array.removeFirst每次都把后面的元素整体左移
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DequeBenchmark {
+
+    @Param({"Array", "ArrayQueue", "LoopQueue", "LoopDeque"})
+    public String implementation;
+
+    @Param({"1000", "1000000"})
+    public int size;
+
+    private Array<Integer> array;
+    private ArrayQueue<Integer> arrayQueue;
+    private LoopQueue<Integer> loopQueue;
+    private LoopDeque<Integer> loopDeque;
+    private Integer element;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        element = 42;
+        switch (implementation) {
+            case "Array":
+                array = new Array<>();
+                for (int i = 0; i < size; i++)
+                    array.addlast(element);
+                break;
+            case "ArrayQueue":
+                arrayQueue = new ArrayQueue<>();
+                for (int i = 0; i < size; i++)
+                    arrayQueue.enqueue(element);
+                break;
+            case "LoopQueue":
+                loopQueue = new LoopQueue<>();
+                for (int i = 0; i < size; i++)
+                    loopQueue.enqueue(element);
+                break;
+            case "LoopDeque":
+                loopDeque = new LoopDeque<>();
+                for (int i = 0; i < size; i++)
+                    loopDeque.addLast(element);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown queue " + implementation);
+        }
+    }
+
+    @Benchmark
+    public Integer dequeueEnqueue() {
+        Integer ret;
+        switch (implementation) {
+            case "Array":
+                ret = array.removeFirst();
+                array.addlast(ret);
+                return ret;
+            case "ArrayQueue":
+                ret = arrayQueue.dequeue();
+                arrayQueue.enqueue(ret);
+                return ret;
+            case "LoopQueue":
+                ret = loopQueue.dequeue();
+                loopQueue.enqueue(ret);
+                return ret;
+            default:
+                ret = loopDeque.removeFirst();
+                loopDeque.addLast(ret);
+                return ret;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package datastructure.benchmark;
+
+import datastructure.MaxHeap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// 堆大小保持不变的extractMax + add循环，也就是调度器里优先队列的热点路径
+// 比较不同叉数的MaxHeap，以java.util.PriorityQueue(二叉堆)作为参照
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HeapBenchmark {
+
+    // 新加入元素的序列长度，必须是2的幂
+    private static final int ADDS = 1 << 16;
+
+    // MaxHeap-<arity>
+    @Param({"MaxHeap-2", "MaxHeap-4", "MaxHeap-8", "PriorityQueue"})
+    public String implementation;
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private MaxHeap<Integer> heap;
+    private PriorityQueue<Integer> queue;
+    private Integer[] adds;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(42);
+        if (implementation.equals("PriorityQueue"))
+            queue = new PriorityQueue<>(size, Comparator.reverseOrder());
+        else if (implementation.startsWith("MaxHeap-"))
+            heap = new MaxHeap<>(size, Integer.parseInt(implementation.substring("MaxHeap-".length())), null);
+        else
+            throw new IllegalArgumentException("Unknown heap " + implementation);
+
+        for (int i = 0; i < size; i++) {
+            if (heap != null)
+                heap.add(random.nextInt());
+            else
+                queue.add(random.nextInt());
+        }
+        adds = new Integer[ADDS];
+        for (int i = 0; i < ADDS; i++)
+            adds[i] = random.nextInt();
+        cursor = 0;
+    }
+
+    @Benchmark
+    public Integer extractMaxAdd() {
+        Integer e = adds[cursor++ & (ADDS - 1)];
+        if (heap != null) {
+            Integer ret = heap.extractMax();
+            heap.add(e);
+            return ret;
+        }
+        Integer ret = queue.poll();
+        queue.add(e);
+        return ret;
+    }
+}
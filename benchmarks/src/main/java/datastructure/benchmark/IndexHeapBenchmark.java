@@ -0,0 +1,75 @@
+package datastructure.benchmark;
+
+import datastructure.IndexMaxHeap;
+import datastructure.MaxHeap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// 修改任意一个元素的优先级后取最大值：
+// IndexMaxHeap用change在O(log n)内调整，MaxHeap没有这个操作，只能修改数组后用heapify构造函数在O(n)内重建
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IndexHeapBenchmark {
+
+    // 修改序列的长度，必须是2的幂
+    private static final int CHANGES = 1 << 16;
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    private Integer[] values;
+    private IndexMaxHeap<Integer> indexHeap;
+    private int[] indexes;
+    private Integer[] newValues;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(42);
+        values = new Integer[size];
+        indexHeap = new IndexMaxHeap<>(size);
+        for (int i = 0; i < size; i++) {
+            values[i] = random.nextInt();
+            indexHeap.add(i, values[i]);
+        }
+
+        indexes = new int[CHANGES];
+        newValues = new Integer[CHANGES];
+        for (int i = 0; i < CHANGES; i++) {
+            indexes[i] = random.nextInt(size);
+            newValues[i] = random.nextInt();
+        }
+        cursor = 0;
+    }
+
+    @Benchmark
+    public Integer indexHeapChange() {
+        int i = cursor++ & (CHANGES - 1);
+        indexHeap.change(indexes[i], newValues[i]);
+        return indexHeap.findMax();
+    }
+
+    @Benchmark
+    public Integer maxHeapRebuild() {
+        int i = cursor++ & (CHANGES - 1);
+        values[indexes[i]] = newValues[i];
+        return new MaxHeap<>(values).findMax();
+    }
+}
@@ -0,0 +1,112 @@
+package datastructure.benchmark;
+
+import datastructure.FileOperation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Random;
+
+// 基准测试中key的分布
+// 每种分布都给出两样东西：初始化时按什么顺序插入的size个不同的key，以及测试时依次访问的key序列
+public enum KeyDistribution {
+
+    // 按字典序从小到大插入，访问时均匀随机
+    SORTED,
+    // 随机顺序插入，访问时均匀随机
+    RANDOM,
+    // 随机顺序插入，访问时服从Zipf分布，少数key被访问得非常频繁
+    ZIPF,
+    // 傲慢与偏见中的单词，按首次出现的顺序插入，按原文顺序访问，跳过不在keys中的单词
+    CORPUS;
+
+    // 语料文件的路径，默认在仓库根目录下运行
+    public static final String CORPUS_FILE = System.getProperty("corpus", "pride-and-prejudice.txt");
+
+    private static final double ZIPF_EXPONENT = 1.0;
+
+    // 返回初始化时要插入的key，按插入顺序排列
+    public String[] keys(int size, long seed) {
+        if (this == CORPUS)
+            return distinctWords(size);
+
+        String[] keys = new String[size];
+        for (int i = 0; i < size; i++)
+            keys[i] = String.format("key%09d", i);
+        if (this != SORTED)
+            Collections.shuffle(Arrays.asList(keys), new Random(seed));
+        return keys;
+    }
+
+    // 返回测试时依次访问的length个key，都取自keys
+    // 基准测试中的写操作依赖这一点：写的key都已经存在，Map和Set的大小才保持不变
+    public String[] accesses(String[] keys, int length, long seed) {
+        String[] accesses = new String[length];
+        HashSet<String> keySet = new HashSet<>(Arrays.asList(keys));
+        Random random = new Random(seed);
+        switch (this) {
+            case CORPUS:
+                // keys只是语料中最先出现的size个单词时，原文中其余的单词都要跳过
+                ArrayList<String> words = new ArrayList<>();
+                for (String word : readCorpus())
+                    if (keySet.contains(word))
+                        words.add(word);
+                if (words.isEmpty())
+                    throw new IllegalStateException("No word of corpus " + CORPUS_FILE + " is in keys");
+                for (int i = 0; i < length; i++)
+                    accesses[i] = words.get(i % words.size());
+                break;
+            case ZIPF:
+                double[] cdf = zipfCdf(keys.length);
+                for (int i = 0; i < length; i++) {
+                    int rank = Arrays.binarySearch(cdf, random.nextDouble());
+                    if (rank < 0)
+                        rank = -rank - 1;
+                    accesses[i] = keys[Math.min(rank, keys.length - 1)];
+                }
+                break;
+            default:
+                for (int i = 0; i < length; i++)
+                    accesses[i] = keys[random.nextInt(keys.length)];
+        }
+        for (String key : accesses)
+            if (!keySet.contains(key))
+                throw new IllegalStateException("Access " + key + " is not in keys");
+        return accesses;
+    }
+
+    // 排名为k(从0开始)的key被访问的概率正比于1 / (k + 1)^s，返回累积分布
+    private static double[] zipfCdf(int n) {
+        double[] cdf = new double[n];
+        double sum = 0;
+        for (int k = 0; k < n; k++) {
+            sum += 1.0 / Math.pow(k + 1, ZIPF_EXPONENT);
+            cdf[k] = sum;
+        }
+        for (int k = 0; k < n; k++)
+            cdf[k] /= sum;
+        return cdf;
+    }
+
+    // 语料中最多size个不同的单词，按首次出现的顺序排列
+    private static String[] distinctWords(int size) {
+        ArrayList<String> words = readCorpus();
+        HashSet<String> seen = new HashSet<>();
+        ArrayList<String> keys = new ArrayList<>();
+        for (String word : words) {
+            if (keys.size() == size)
+                break;
+            if (seen.add(word))
+                keys.add(word);
+        }
+        return keys.toArray(new String[0]);
+    }
+
+    private static ArrayList<String> readCorpus() {
+        ArrayList<String> words = new ArrayList<>();
+        if (!FileOperation.readFile(CORPUS_FILE, words) || words.isEmpty())
+            throw new IllegalStateException("Cannot read corpus " + CORPUS_FILE);
+        return words;
+    }
+}
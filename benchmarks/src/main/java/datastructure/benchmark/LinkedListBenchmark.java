@@ -0,0 +1,146 @@
+package datastructure.benchmark;
+
+import datastructure.LinkedList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// 双向链表LinkedList与改写之前的单向链表对比
+// append：链表中保持size个元素，每次addLast一个再removeFirst一个(像队列一样进出)
+// iterate：遍历size个元素求和，单向链表没有迭代器，用它唯一的整表遍历contains(不存在的元素)代替
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LinkedListBenchmark {
+
+    @Param({"SinglyLinkedList", "LinkedList", "PooledLinkedList", "java.util.LinkedList"})
+    public String implementation;
+
+    @Param({"100", "10000"})
+    public int size;
+
+    private SinglyLinkedList<Integer> singly;
+    private LinkedList<Integer> list;
+    private java.util.LinkedList<Integer> jdk;
+    private Integer element;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        element = 42;
+        switch (implementation) {
+            case "SinglyLinkedList":
+                singly = new SinglyLinkedList<>();
+                for (int i = 0; i < size; i++)
+                    singly.addLast(i);
+                break;
+            case "LinkedList":
+            case "PooledLinkedList":
+                list = new LinkedList<>(implementation.equals("LinkedList") ? 0 : 64);
+                for (int i = 0; i < size; i++)
+                    list.addLast(i);
+                break;
+            case "java.util.LinkedList":
+                jdk = new java.util.LinkedList<>();
+                for (int i = 0; i < size; i++)
+                    jdk.addLast(i);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown list " + implementation);
+        }
+    }
+
+    @Benchmark
+    public Integer append() {
+        switch (implementation) {
+            case "SinglyLinkedList":
+                singly.addLast(element);
+                return singly.removeFirst();
+            case "java.util.LinkedList":
+                jdk.addLast(element);
+                return jdk.removeFirst();
+            default:
+                list.addLast(element);
+                return list.removeFirst();
+        }
+    }
+
+    @Benchmark
+    public long iterate() {
+        long sum = 0;
+        switch (implementation) {
+            case "SinglyLinkedList":
+                return singly.contains(-1) ? 1 : 0;
+            case "java.util.LinkedList":
+                for (int e : jdk)
+                    sum += e;
+                return sum;
+            default:
+                for (int e : list)
+                    sum += e;
+                return sum;
+        }
+    }
+
+    // 改写之前的datastructure.LinkedList，只保留用到的方法：
+    // 只有虚拟头节点，addLast要从头走到尾
+    static class SinglyLinkedList<E> {
+
+        private static class Node<E> {
+            E e;
+            Node<E> next;
+
+            Node(E e, Node<E> next) {
+                this.e = e;
+                this.next = next;
+            }
+        }
+
+        private final Node<E> dummyHead = new Node<>(null, null);
+        private int size;
+
+        void add(int index, E e) {
+            if (index < 0 || index > size)
+                throw new IllegalArgumentException("Add failed. Illegal index.");
+            Node<E> prev = dummyHead;
+            for (int i = 0; i < index; i++)
+                prev = prev.next;
+            prev.next = new Node<>(e, prev.next);
+            size++;
+        }
+
+        void addLast(E e) {
+            add(size, e);
+        }
+
+        E removeFirst() {
+            if (size == 0)
+                throw new IllegalArgumentException("Remove failed. Index is illegal.");
+            Node<E> retNode = dummyHead.next;
+            dummyHead.next = retNode.next;
+            retNode.next = null;
+            size--;
+            return retNode.e;
+        }
+
+        boolean contains(E e) {
+            for (Node<E> cur = dummyHead.next; cur != null; cur = cur.next)
+                if (cur.e.equals(e))
+                    return true;
+            return false;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package datastructure.benchmark;
+
+import datastructure.AVLMap;
+import datastructure.BSTMap;
+import datastructure.BTreeMap;
+import datastructure.HashTable;
+import datastructure.LinkedHashMap;
+import datastructure.LinkedListMap;
+import datastructure.Map;
+import datastructure.Merger;
+import datastructure.RBTree;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// 各个Map实现在不同key分布、规模和读写比例下的吞吐量
+// 每次调用执行一次操作：读是get，写是merge(key, 1, +)，写的key都已经存在，所以Map的大小保持不变
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+// BSTMap在有序插入时退化成链表，递归深度等于size，需要更大的线程栈
+@Fork(value = 1, jvmArgsAppend = "-Xss64m")
+public class MapBenchmark {
+
+    // 访问序列的长度，必须是2的幂
+    private static final int ACCESSES = 1 << 16;
+    private static final Merger<Integer> SUM = (a, b) -> a + b;
+
+    @Param({"BSTMap", "AVLMap", "RBTree", "BTreeMap", "LinkedListMap", "LinkedHashMap", "HashTable"})
+    public String implementation;
+
+    @Param({"SORTED", "RANDOM", "ZIPF", "CORPUS"})
+    public KeyDistribution distribution;
+
+    @Param({"1000", "10000"})
+    public int size;
+
+    // 读操作所占的比例
+    @Param({"0.5", "0.9", "1.0"})
+    public double readRatio;
+
+    private Map<String, Integer> map;
+    private String[] accesses;
+    private boolean[] reads;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        map = newMap(implementation);
+        String[] keys = distribution.keys(size, 42);
+        for (String key : keys)
+            map.add(key, 0);
+
+        accesses = distribution.accesses(keys, ACCESSES, 43);
+        reads = new boolean[ACCESSES];
+        Random random = new Random(44);
+        for (int i = 0; i < ACCESSES; i++)
+            reads[i] = random.nextDouble() < readRatio;
+        cursor = 0;
+    }
+
+    static Map<String, Integer> newMap(String implementation) {
+        switch (implementation) {
+            case "BSTMap":
+                return new BSTMap<>();
+            case "AVLMap":
+                return new AVLMap<>();
+            case "RBTree":
+                return new RBTree<>();
+            case "BTreeMap":
+                return new BTreeMap<>();
+            case "LinkedListMap":
+                return new LinkedListMap<>();
+            case "LinkedHashMap":
+                return new LinkedHashMap<>();
+            case "HashTable":
+                return new HashTable<>();
+            default:
+                throw new IllegalArgumentException("Unknown map " + implementation);
+        }
+    }
+
+    @Benchmark
+    public void readWrite(Blackhole bh) {
+        int i = cursor++ & (ACCESSES - 1);
+        if (reads[i])
+            bh.consume(map.get(accesses[i]));
+        else
+            map.merge(accesses[i], 1, SUM);
+    }
+}
@@ -0,0 +1,133 @@
+package datastructure.benchmark;
+
+import datastructure.LinkedListQueue;
+import datastructure.MpscLinkedQueue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+// 多生产者单消费者的吞吐量：每次调用由producers个生产者线程一共入队ELEMENTS个元素，
+// 基准测试线程作为唯一的消费者把它们全部取出，结果按每个元素计算
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueueBenchmark {
+
+    private static final int ELEMENTS = 1 << 18;
+
+    @Param({"MpscLinkedQueue", "ConcurrentLinkedQueue", "SynchronizedLinkedListQueue"})
+    public String implementation;
+
+    @Param({"1", "2", "4", "8"})
+    public int producers;
+
+    // 各个实现的共同操作
+    interface ConcurrentQueue {
+        void offer(Integer e);
+
+        Integer poll();
+    }
+
+    private ConcurrentQueue queue;
+    private ExecutorService executor;
+    private Future<?>[] futures;
+    private Integer element;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        queue = newQueue(implementation);
+        executor = Executors.newFixedThreadPool(producers);
+        futures = new Future<?>[producers];
+        element = 42;
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    static ConcurrentQueue newQueue(String implementation) {
+        switch (implementation) {
+            case "MpscLinkedQueue": {
+                MpscLinkedQueue<Integer> q = new MpscLinkedQueue<>();
+                return new ConcurrentQueue() {
+                    public void offer(Integer e) {
+                        q.offer(e);
+                    }
+
+                    public Integer poll() {
+                        return q.poll();
+                    }
+                };
+            }
+            case "ConcurrentLinkedQueue": {
+                ConcurrentLinkedQueue<Integer> q = new ConcurrentLinkedQueue<>();
+                return new ConcurrentQueue() {
+                    public void offer(Integer e) {
+                        q.offer(e);
+                    }
+
+                    public Integer poll() {
+                        return q.poll();
+                    }
+                };
+            }
+            case "SynchronizedLinkedListQueue": {
+                LinkedListQueue<Integer> q = new LinkedListQueue<>();
+                return new ConcurrentQueue() {
+                    public synchronized void offer(Integer e) {
+                        q.enqueue(e);
+                    }
+
+                    public synchronized Integer poll() {
+                        return q.isEmpty() ? null : q.dequeue();
+                    }
+                };
+            }
+            default:
+                throw new IllegalArgumentException("Unknown queue " + implementation);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ELEMENTS)
+    public int transfer() throws Exception {
+        int perProducer = ELEMENTS / producers;
+        for (int p = 0; p < producers; p++)
+            futures[p] = executor.submit(() -> {
+                for (int i = 0; i < perProducer; i++)
+                    queue.offer(element);
+            });
+
+        int received = 0;
+        while (received < perProducer * producers) {
+            if (queue.poll() != null)
+                received++;
+            else
+                Thread.yield();
+        }
+        for (Future<?> future : futures)
+            future.get();
+        return received;
+    }
+}
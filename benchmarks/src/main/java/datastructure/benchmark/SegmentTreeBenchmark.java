@@ -0,0 +1,90 @@
+package datastructure.benchmark;
+
+import datastructure.LazySegmentTree;
+import datastructure.SegmentTree;
+import datastructure.Updater;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// 区间加上一个偏移量再查询区间和：SegmentTree只能对区间内每个下标set一次，LazySegmentTree一次update
+// 每次调用对一个长度为size / 2的随机区间加上偏移量，再查询一个随机区间的和
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SegmentTreeBenchmark {
+
+    // 随机区间的个数，必须是2的幂
+    private static final int WINDOWS = 1 << 10;
+
+    private static final Updater<Long, Long> ADD = new Updater<Long, Long>() {
+        @Override
+        public Long apply(Long value, Long u, int length) {
+            return value + u * length;
+        }
+
+        @Override
+        public Long compose(Long first, Long second) {
+            return first + second;
+        }
+    };
+
+    @Param({"SegmentTree", "LazySegmentTree"})
+    public String implementation;
+
+    @Param({"1024", "65536"})
+    public int size;
+
+    private SegmentTree<Long> segmentTree;
+    private LazySegmentTree<Long, Long> lazySegmentTree;
+    private int[] lefts;
+    private int[] queries;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(42);
+        Long[] arr = new Long[size];
+        for (int i = 0; i < size; i++)
+            arr[i] = (long) random.nextInt(1000);
+        segmentTree = new SegmentTree<>(arr, (a, b) -> a + b);
+        lazySegmentTree = new LazySegmentTree<>(arr, (a, b) -> a + b, ADD);
+
+        lefts = new int[WINDOWS];
+        queries = new int[WINDOWS];
+        for (int i = 0; i < WINDOWS; i++) {
+            lefts[i] = random.nextInt(size / 2);
+            queries[i] = random.nextInt(size);
+        }
+        cursor = 0;
+    }
+
+    @Benchmark
+    public Long rangeAddQuery() {
+        int i = cursor++ & (WINDOWS - 1);
+        int l = lefts[i], r = l + size / 2 - 1;
+        int q = queries[i];
+        if (implementation.equals("SegmentTree")) {
+            for (int j = l; j <= r; j++)
+                segmentTree.set(j, segmentTree.get(j) + 1);
+            return segmentTree.query(Math.min(q, l), Math.max(q, l));
+        }
+        lazySegmentTree.update(l, r, 1L);
+        return lazySegmentTree.query(Math.min(q, l), Math.max(q, l));
+    }
+}
@@ -0,0 +1,84 @@
+package datastructure.benchmark;
+
+import datastructure.LongSegmentTree;
+import datastructure.SegmentTree;
+import datastructure.SegmentTreeMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// 区间求和的吞吐量：装箱、递归的SegmentTree<Long>与基本类型、迭代的LongSegmentTree
+// query每次查询一个随机区间的和，set每次把一个随机下标设为新的值
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SegmentTreeQueryBenchmark {
+
+    // 预先生成的随机区间个数，必须是2的幂
+    private static final int QUERIES = 1 << 16;
+
+    @Param({"SegmentTree", "LongSegmentTree"})
+    public String implementation;
+
+    @Param({"1024", "1048576"})
+    public int size;
+
+    private SegmentTree<Long> segmentTree;
+    private LongSegmentTree longSegmentTree;
+    private int[] lefts, rights;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(42);
+        long[] arr = new long[size];
+        Long[] boxed = new Long[size];
+        for (int i = 0; i < size; i++)
+            boxed[i] = arr[i] = random.nextInt(1000);
+        if (implementation.equals("SegmentTree"))
+            segmentTree = new SegmentTree<>(boxed, (a, b) -> a + b);
+        else
+            longSegmentTree = new LongSegmentTree(arr, SegmentTreeMode.SUM);
+
+        lefts = new int[QUERIES];
+        rights = new int[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            int l = random.nextInt(size), r = random.nextInt(size);
+            lefts[i] = Math.min(l, r);
+            rights[i] = Math.max(l, r);
+        }
+        cursor = 0;
+    }
+
+    @Benchmark
+    public long query() {
+        int i = cursor++ & (QUERIES - 1);
+        if (segmentTree != null)
+            return segmentTree.query(lefts[i], rights[i]);
+        return longSegmentTree.query(lefts[i], rights[i]);
+    }
+
+    @Benchmark
+    public void set() {
+        int i = cursor++ & (QUERIES - 1);
+        if (segmentTree != null)
+            segmentTree.set(lefts[i], (long) rights[i]);
+        else
+            longSegmentTree.set(lefts[i], rights[i]);
+    }
+}
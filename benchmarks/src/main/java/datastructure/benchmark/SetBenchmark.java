@@ -0,0 +1,92 @@
+package datastructure.benchmark;
+
+import datastructure.AVLSet;
+import datastructure.BSTSet;
+import datastructure.LinkedHashSet;
+import datastructure.LinkedListSet;
+import datastructure.Set;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// 各个Set实现在不同key分布、规模和读写比例下的吞吐量
+// 读是contains，写是add一个已经存在的元素，集合大小保持不变
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xss64m")
+public class SetBenchmark {
+
+    private static final int ACCESSES = 1 << 16;
+
+    @Param({"BSTSet", "AVLSet", "LinkedListSet", "LinkedHashSet"})
+    public String implementation;
+
+    @Param({"SORTED", "RANDOM", "ZIPF", "CORPUS"})
+    public KeyDistribution distribution;
+
+    @Param({"1000", "10000"})
+    public int size;
+
+    @Param({"0.5", "0.9", "1.0"})
+    public double readRatio;
+
+    private Set<String> set;
+    private String[] accesses;
+    private boolean[] reads;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        set = newSet(implementation);
+        String[] keys = distribution.keys(size, 42);
+        for (String key : keys)
+            set.add(key);
+
+        accesses = distribution.accesses(keys, ACCESSES, 43);
+        reads = new boolean[ACCESSES];
+        Random random = new Random(44);
+        for (int i = 0; i < ACCESSES; i++)
+            reads[i] = random.nextDouble() < readRatio;
+        cursor = 0;
+    }
+
+    static Set<String> newSet(String implementation) {
+        switch (implementation) {
+            case "BSTSet":
+                return new BSTSet<>();
+            case "AVLSet":
+                return new AVLSet<>();
+            case "LinkedListSet":
+                return new LinkedListSet<>();
+            case "LinkedHashSet":
+                return new LinkedHashSet<>();
+            default:
+                throw new IllegalArgumentException("Unknown set " + implementation);
+        }
+    }
+
+    @Benchmark
+    public void readWrite(Blackhole bh) {
+        int i = cursor++ & (ACCESSES - 1);
+        if (reads[i])
+            bh.consume(set.contains(accesses[i]));
+        else
+            set.add(accesses[i]);
+    }
+}
@@ -1,121 +0,0 @@
-import java.util.Random;
-
-public class MaxHeap<E extends Comparable<E>> {
-    public Array<E> data;
-
-    public MaxHeap(int capacity) {
-        data = new Array<>(capacity);
-    }
-
-    public MaxHeap() {
-        data = new Array<>();
-    }
-
-    //将任意数组整理成堆的形状
-    public MaxHeap(E[] arr) {
-        data = new Array<>(arr);
-        for (int i = parent(arr.length - 1); i >= 0; i--)
-            siftDown(i);
-    }
-
-    public int size() {
-        return data.getSize();
-    }
-
-    public boolean isEmpty() {
-        return data.isEmpty();
-    }
-
-    //返回完全二叉树数组中，索引元素的元素的父亲元素的索引
-    private int parent(int index) {
-        if (index == 0)
-            throw new IllegalArgumentException("index 0 has no parent");
-        return (index - 1) / 2;
-
-    }
-
-    // 返回完全二叉树的数组表示中，一个索引所表示的元素的左孩子节点的索引
-    private int leftChild(int index) {
-        return index * 2 + 1;
-    }
-
-    // 返回完全二叉树的数组表示中，一个索引所表示的元素的右孩子节点的索引
-    private int rightChild(int index) {
-        return index * 2 + 2;
-    }
-
-    //向堆中添加元素
-    public void add(E e) {
-        data.addlast(e);
-        siftUp(data.getSize() - 1);
-    }
-
-    //新添加的元素上浮
-    private void siftUp(int k) {
-        while (k > 0 && data.get(parent(k)).compareTo(data.get(k)) < 0) {
-            data.swap(k, parent(k));
-            k = parent(k);
-        }
-    }
-
-    //看堆中最大的元素
-    public E findMax() {
-        if (data.getSize() == 0)
-            throw new IllegalArgumentException("empty heap");
-        return data.get(0);
-    }
-
-    //取出堆中的最大元素
-    public E extractMax() {
-        E ret = findMax();
-        data.swap(0, data.getSize() - 1);
-        data.removeLast();
-        siftDown(0);
-        return ret;
-    }
-
-    //元素下沉操作
-    public void siftDown(int k) {
-        while (leftChild(k) < data.getSize()) {
-            int j = leftChild(k);
-            if (j + 1 < data.getSize() && data.get(j + 1).compareTo(data.get(j)) > 0)
-                j = rightChild(k);
-            if (data.get(k).compareTo(data.get(j)) >= 0)
-                break;
-            data.swap(k, j);
-            k = j;
-        }
-    }
-
-    //取出最大元素，并替换成e
-    /*
-     此处采用 先取出最大值，然后用新的值覆盖最大值位置的值，并进行siftDown操作
-     整体的操作是LogN级别的，比先取出最大值再添加新值效率要高
-     */
-    public E replace(E e) {
-        E ret = findMax();
-        data.set(0, e);
-        siftDown(0);
-        return ret;
-    }
-
-
-    public static void main(String[] args) {
-        int n = 100000;
-        MaxHeap<Integer> maxHeap = new MaxHeap<>();
-        Random random = new Random();
-        for (int i = 0; i < n; i++) {
-            maxHeap.add(random.nextInt(Integer.MAX_VALUE));
-        }
-        int[] arr = new int[n];
-        for (int i = 0; i < n; i++) {
-            arr[i] = maxHeap.extractMax();
-        }
-        for (int i = 1; i < n; i++)
-            if (arr[i - 1] < arr[i])
-                throw new IllegalArgumentException("Error");
-        System.out.println("Good Job!");
-    }
-
-
-}
@@ -1,3 +1,7 @@
+package datastructure;
+
+import java.util.function.Function;
+
 public class AVLMap<K extends Comparable<K>, V> implements Map<K, V> {
 
     private AVLTree<K, V> avl;
@@ -36,6 +40,16 @@ public class AVLMap<K extends Comparable<K>, V> implements Map<K, V> {
         avl.set(key, newValue);
     }
 
+    @Override
+    public void merge(K key, V value, Merger<V> merger){
+        avl.merge(key, value, merger);
+    }
+
+    @Override
+    public V computeIfAbsent(K key, Function<K, V> mappingFunction){
+        return avl.computeIfAbsent(key, mappingFunction);
+    }
+
     @Override
     public V remove(K key){
         return avl.remove(key);
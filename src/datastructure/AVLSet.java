@@ -1,3 +1,5 @@
+package datastructure;
+
 public class AVLSet<E extends Comparable<E>> implements Set<E> {
 
     private AVLTree<E, Object> avl;
@@ -0,0 +1,602 @@
+package datastructure;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+
+public class AVLTree<K extends Comparable<K>, V> {
+
+    private class Node {
+        public K key;
+        public V value;
+        public Node left, right;
+        // 以该节点为根的子树中的节点个数
+        public int size;
+        public int height;
+
+        public Node(K key, V value) {
+            this.key = key;
+            this.value = value;
+            left = null;
+            right = null;
+            size = 1;
+            height = 1;
+        }
+    }
+
+    private Node root;
+    private int size;
+
+    // 插入和删除时从根到当前节点经过的路径，代替递归的调用栈
+    private Node[] path;
+    private int depth;
+    private int lastCmp;
+
+    // Node是泛型类的内部类，不能直接创建Node[]，只能从原始类型的数组转换
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public AVLTree() {
+        root = null;
+        size = 0;
+        path = (Node[]) new AVLTree.Node[64];
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    // 返回树的高度
+    public int getHeight() {
+        return getHeight(root);
+    }
+
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // 向二分搜索树中添加新的元素(key, value)
+    public void add(K key, V value) {
+        Node node = descend(key);
+        if (node != null)
+            node.value = value;
+        else
+            attach(key, value);
+        clearPath();
+    }
+
+    // 若key不存在则添加(key, value)，否则把旧值和value融合，只需要从根向下遍历一次
+    public void merge(K key, V value, Merger<V> merger) {
+        Node node = descend(key);
+        if (node != null)
+            node.value = merger.merge(node.value, value);
+        else
+            attach(key, value);
+        clearPath();
+    }
+
+    // 若key不存在则用mappingFunction计算出值并添加，返回key对应的值
+    // 未命中时直接在descend停下的位置挂上新节点，只需要从根向下遍历一次，mappingFunction中不能修改这棵树
+    public V computeIfAbsent(K key, Function<K, V> mappingFunction) {
+        Node node = descend(key);
+        if (node != null) {
+            clearPath();
+            return node.value;
+        }
+        V value = mappingFunction.apply(key);
+        attach(key, value);
+        clearPath();
+        return value;
+    }
+
+    //获取节点的高度
+    private int getHeight(Node node) {
+        if (node == null)
+            return 0;
+        return node.height;
+    }
+
+    //获得节点的平衡因子
+    private int getBalanceFactor(Node node) {
+        if (node == null)
+            return 0;
+        return getHeight(node.left) - getHeight(node.right);
+    }
+
+    //判断是否为二分搜索树
+    public boolean isBST() {
+        ArrayList<K> keys = new ArrayList<>();
+        inOrder(root, keys);
+        for (int i = 1; i < keys.size(); i++) {
+            if (keys.get(i - 1).compareTo(keys.get(i)) > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    //中序遍历
+    private void inOrder(Node node, ArrayList<K> keys) {
+        if (node == null)
+            return;
+        inOrder(node.left, keys);
+        keys.add(node.key);
+        inOrder(node.right, keys);
+    }
+
+    //判断是否是平衡二叉树
+    public boolean isBalanced() {
+        return isBalanced(root);
+    }
+
+    //私有函数 判断是否是平衡二叉树，同时检查记录的高度是否正确
+    private boolean isBalanced(Node node) {
+        if (node == null)
+            return true;
+        if (node.height != 1 + Math.max(getHeight(node.left), getHeight(node.right)))
+            return false;
+        int balanceFactor = getBalanceFactor(node);
+        if (Math.abs(balanceFactor) > 1)
+            return false;
+        return isBalanced(node.left) && isBalanced(node.right);
+    }
+
+    // 对节点y进行向右旋转操作，返回旋转后新的根节点x
+    //        y                              x
+    //       / \                           /   \
+    //      x   T4     向右旋转 (y)        z     y
+    //     / \       - - - - - - - ->    / \   / \
+    //    z   T3                       T1  T2 T3 T4
+    //   / \
+    // T1   T2
+    private Node rightRotate(Node y) {
+        Node x = y.left;
+        Node T3 = x.right;
+        x.right = y;
+        y.left = T3;
+        //更新节点的height,只用更新x,y节点就好了，因为只有他们变了
+        y.height = Math.max(getHeight(y.left), getHeight(y.right)) + 1;
+        x.height = Math.max(getHeight(x.left), getHeight(x.right)) + 1;
+        x.size = y.size;
+        y.size = 1 + size(y.left) + size(y.right);
+        return x;
+    }
+
+    // 对节点y进行向左旋转操作，返回旋转后新的根节点x
+    //    y                             x
+    //  /  \                          /   \
+    // T1   x      向左旋转 (y)       y     z
+    //     / \   - - - - - - - ->   / \   / \
+    //   T2  z                     T1 T2 T3 T4
+    //      / \
+    //     T3 T4
+
+    private Node leftRotate(Node y) {
+        Node x = y.right;
+        Node T2 = x.left;
+
+        // 向左旋转过程
+        x.left = y;
+        y.right = T2;
+
+        // 更新height
+        y.height = Math.max(getHeight(y.left), getHeight(y.right)) + 1;
+        x.height = Math.max(getHeight(x.left), getHeight(x.right)) + 1;
+        x.size = y.size;
+        y.size = 1 + size(y.left) + size(y.right);
+
+        return x;
+    }
+
+    // 从根向下查找key，沿途经过的节点依次记录在path中
+    // 找到时返回key所在的节点(不记入path)，否则返回null，此时path[depth - 1]就是新节点的父亲，
+    // lastCmp是key与它比较的结果，决定新节点挂在左边还是右边
+    private Node descend(K key) {
+        depth = 0;
+        Node cur = root;
+        while (cur != null) {
+            int cmp = key.compareTo(cur.key);
+            if (cmp == 0)
+                return cur;
+            push(cur);
+            lastCmp = cmp;
+            cur = cmp < 0 ? cur.left : cur.right;
+        }
+        return null;
+    }
+
+    private void push(Node node) {
+        if (depth == path.length)
+            path = Arrays.copyOf(path, depth * 2);
+        path[depth++] = node;
+    }
+
+    // 一次操作结束后清空path中用过的位置，让已经删掉的节点不会因为还留在path中而无法被回收
+    private void clearPath() {
+        Arrays.fill(path, 0, depth, null);
+        depth = 0;
+    }
+
+    // 在descend找到的位置上挂上新节点，然后沿着path自底向上维护平衡
+    // 插入后最多只需要一次(单旋或双旋)调整，调整后子树高度恢复到插入前，
+    // 或者某个祖先的高度没有变化时，更上面的节点都不受影响，直接结束
+    private void attach(K key, V value) {
+        Node node = new Node(key, value);
+        size++;
+        if (depth == 0) {
+            root = node;
+            return;
+        }
+        Node parent = path[depth - 1];
+        if (lastCmp < 0)
+            parent.left = node;
+        else
+            parent.right = node;
+        for (int i = 0; i < depth; i++)
+            path[i].size++;
+
+        for (int i = depth - 1; i >= 0; i--) {
+            Node cur = path[i];
+            int oldHeight = cur.height;
+            cur.height = 1 + Math.max(getHeight(cur.left), getHeight(cur.right));
+            if (Math.abs(getBalanceFactor(cur)) > 1) {
+                replaceChild(i, cur, rebalance(cur));
+                return;
+            }
+            if (cur.height == oldHeight)
+                return;
+        }
+    }
+
+    // 把path[i]的父亲指向oldChild的链接改成newChild，i为0时修改根
+    private void replaceChild(int i, Node oldChild, Node newChild) {
+        if (i == 0)
+            root = newChild;
+        else if (path[i - 1].left == oldChild)
+            path[i - 1].left = newChild;
+        else
+            path[i - 1].right = newChild;
+    }
+
+    // 对平衡因子绝对值为2的节点做旋转，返回旋转后子树新的根
+    private Node rebalance(Node node) {
+        int balanceFactor = getBalanceFactor(node);
+        //维护平衡的特性,左旋转 LL
+        if (balanceFactor > 1 && getBalanceFactor(node.left) >= 0)
+            return rightRotate(node);
+        //维护平衡的特性，右旋转，由于我们的平衡因子计算是由左树高度-右树高度 RR
+        if (balanceFactor < -1 && getBalanceFactor(node.right) <= 0)
+            return leftRotate(node);
+        //LR 插入的元素位于节点元素左子树的右孩子节点
+        if (balanceFactor > 1) {
+            /*
+              首先 通过对左孩子节点的一次左旋转，将情况转化为LL的情况，
+              根据二分搜索树的性质，我们可以知道转换后的树结构仍然维持
+              二分搜索树的特性
+             */
+            node.left = leftRotate(node.left);
+            //再对当前的节点进行一次右旋转即可
+            return rightRotate(node);
+        }
+        //RL 插入元素位于节点元素的右孩子的左边 与LR行为对称
+        //转换为RR的情况
+        node.right = rightRotate(node.right);
+        return leftRotate(node);
+    }
+
+    // 返回以node为根节点的二分搜索树中，key所在的节点
+    private Node getNode(Node node, K key) {
+
+        if (node == null)
+            return null;
+
+        if (key.equals(node.key))
+            return node;
+        else if (key.compareTo(node.key) < 0)
+            return getNode(node.left, key);
+        else // if(key.compareTo(node.key) > 0)
+            return getNode(node.right, key);
+    }
+
+    public boolean contains(K key) {
+        return getNode(root, key) != null;
+    }
+
+    public V get(K key) {
+
+        Node node = getNode(root, key);
+        return node == null ? null : node.value;
+    }
+
+    public void set(K key, V newValue) {
+        Node node = getNode(root, key);
+        if (node == null)
+            throw new IllegalArgumentException(key + " doesn't exist!");
+
+        node.value = newValue;
+    }
+
+    // 从二分搜索树中删除键为key的节点
+    public V remove(K key) {
+
+        Node node = descend(key);
+        if (node == null) {
+            clearPath();
+            return null;
+        }
+        V ret = node.value;
+
+        // 待删除节点左右子树均不为空的情况
+        // 找到比待删除节点大的最小节点, 即待删除节点右子树的最小节点
+        // 把它的键值搬到待删除节点上，转而删除这个最多只有一个孩子的节点
+        if (node.left != null && node.right != null) {
+            push(node);
+            Node successor = node.right;
+            while (successor.left != null) {
+                push(successor);
+                successor = successor.left;
+            }
+            node.key = successor.key;
+            node.value = successor.value;
+            node = successor;
+        }
+
+        // 待删除节点最多只有一个孩子，用这个孩子顶替它的位置
+        Node child = node.left != null ? node.left : node.right;
+        node.left = node.right = null;
+        if (depth == 0)
+            root = child;
+        else if (path[depth - 1].left == node)
+            path[depth - 1].left = child;
+        else
+            path[depth - 1].right = child;
+        size--;
+        for (int i = 0; i < depth; i++)
+            path[i].size--;
+
+        // 自底向上维护平衡，删除可能引起多次旋转，
+        // 某个节点调整后的子树高度和删除前一样时，更上面的节点都不受影响
+        for (int i = depth - 1; i >= 0; i--) {
+            Node cur = path[i];
+            int oldHeight = cur.height;
+            cur.height = 1 + Math.max(getHeight(cur.left), getHeight(cur.right));
+            if (Math.abs(getBalanceFactor(cur)) > 1) {
+                Node newRoot = rebalance(cur);
+                replaceChild(i, cur, newRoot);
+                cur = newRoot;
+            }
+            if (cur.height == oldHeight)
+                break;
+        }
+        clearPath();
+        return ret;
+    }
+
+    // 由严格递增的keys和对应的values建立AVL树
+    // 每次取中间的键作为根，左右两半递归建树，得到的树左右子树大小最多差1，
+    // 不需要任何旋转，时间复杂度O(n)
+    public static <K extends Comparable<K>, V> AVLTree<K, V> fromSorted(K[] keys, V[] values) {
+        checkSorted(keys, values);
+        AVLTree<K, V> tree = new AVLTree<>();
+        tree.root = tree.build(keys, values, 0, keys.length - 1);
+        tree.size = keys.length;
+        return tree;
+    }
+
+    // fromSorted的并行版本，左右两半在fork-join的不同任务中建立
+    public static <K extends Comparable<K>, V> AVLTree<K, V> fromSortedParallel(K[] keys, V[] values) {
+        checkSorted(keys, values);
+        AVLTree<K, V> tree = new AVLTree<>();
+        tree.root = ForkJoinPool.commonPool().invoke(tree.new BuildTask(keys, values, 0, keys.length - 1));
+        tree.size = keys.length;
+        return tree;
+    }
+
+    // fromSorted要求keys严格递增，并且与values一一对应
+    private static <K extends Comparable<K>> void checkSorted(K[] keys, Object[] values) {
+        if (keys.length != values.length)
+            throw new IllegalArgumentException("FromSorted failed. keys and values must have the same length.");
+        for (int i = 1; i < keys.length; i++)
+            if (keys[i - 1].compareTo(keys[i]) >= 0)
+                throw new IllegalArgumentException("FromSorted failed. keys must be strictly increasing.");
+    }
+
+    // 用keys[lo..hi]建立一棵平衡的二分搜索树，返回根
+    private Node build(K[] keys, V[] values, int lo, int hi) {
+        if (lo > hi)
+            return null;
+
+        int mid = (lo + hi) >>> 1;
+        Node node = new Node(keys[mid], values[mid]);
+        node.left = build(keys, values, lo, mid - 1);
+        node.right = build(keys, values, mid + 1, hi);
+        node.height = 1 + Math.max(getHeight(node.left), getHeight(node.right));
+        node.size = 1 + size(node.left) + size(node.right);
+        return node;
+    }
+
+    // 子树中的键少于这个数时不再拆分任务，直接顺序建树
+    private static final int PARALLEL_THRESHOLD = 1 << 13;
+
+    private class BuildTask extends RecursiveTask<Node> {
+        private static final long serialVersionUID = 1L;
+
+        private K[] keys;
+        private V[] values;
+        private int lo, hi;
+
+        BuildTask(K[] keys, V[] values, int lo, int hi) {
+            this.keys = keys;
+            this.values = values;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected Node compute() {
+            if (hi - lo + 1 < PARALLEL_THRESHOLD)
+                return build(keys, values, lo, hi);
+
+            int mid = (lo + hi) >>> 1;
+            BuildTask left = new BuildTask(keys, values, lo, mid - 1);
+            BuildTask right = new BuildTask(keys, values, mid + 1, hi);
+            left.fork();
+            Node node = new Node(keys[mid], values[mid]);
+            node.right = right.compute();
+            node.left = left.join();
+            node.height = 1 + Math.max(getHeight(node.left), getHeight(node.right));
+            node.size = 1 + size(node.left) + size(node.right);
+            return node;
+        }
+    }
+
+    // 返回以node为根的子树中的节点个数
+    private int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    // 让OrderedTrees读取这棵树的节点
+    private final OrderedTrees.Nodes<Node, K> nodes = new OrderedTrees.Nodes<Node, K>() {
+        @Override
+        public K key(Node node) {
+            return node.key;
+        }
+
+        @Override
+        public Node left(Node node) {
+            return node.left;
+        }
+
+        @Override
+        public Node right(Node node) {
+            return node.right;
+        }
+
+        @Override
+        public int size(Node node) {
+            return node == null ? 0 : node.size;
+        }
+    };
+
+    // 返回小于等于key的最大的键，不存在时返回null
+    public K floor(K key) {
+        return OrderedTrees.floor(root, key, nodes);
+    }
+
+    // 返回大于等于key的最小的键，不存在时返回null
+    public K ceiling(K key) {
+        return OrderedTrees.ceiling(root, key, nodes);
+    }
+
+    // 返回小于key的键的个数，即key的排名(从0开始)
+    public int rank(K key) {
+        return OrderedTrees.rank(root, key, nodes);
+    }
+
+    // 返回排名为k(从0开始)的键
+    public K select(int k) {
+        return OrderedTrees.select(root, k, nodes);
+    }
+
+    // 按从小到大的顺序遍历[lo, hi]中的键
+    // 遍历是懒惰的，迭代器只保存从根到当前节点的一条路径，不会生成中间的列表
+    public Iterable<K> range(K lo, K hi) {
+        return () -> new OrderedTrees.RangeIterator<>(root, lo, hi, nodes);
+    }
+
+    public static void main(String[] args) {
+
+        System.out.println("Pride and Prejudice");
+
+        ArrayList<String> words = new ArrayList<>();
+        if (FileOperation.readFile("pride-and-prejudice.txt", words)) {
+            System.out.println("Total words: " + words.size());
+
+            AVLTree<String, Integer> map = new AVLTree<>();
+            for (String word : words) {
+                if (map.contains(word))
+                    map.set(word, map.get(word) + 1);
+                else
+                    map.add(word, 1);
+            }
+
+            System.out.println("Total different words: " + map.getSize());
+            System.out.println("Frequency of PRIDE: " + map.get("pride"));
+            System.out.println("Frequency of PREJUDICE: " + map.get("prejudice"));
+
+            System.out.println("is BST : " + map.isBST());
+            System.out.println("is Balanced : " + map.isBalanced());
+            for (String word : words) {
+                map.remove(word);
+                if (!map.isBST() || !map.isBalanced())
+                    throw new RuntimeException("Error");
+            }
+        }
+
+        Random random = new Random();
+        // 随机地插入和删除之后，和java.util.TreeMap对比floor、ceiling、rank、select和range，
+        // 查询的键也包括已存的键的范围之外的键
+        for (int round = 0; round < 20; round++) {
+            AVLTree<Integer, Integer> tree = new AVLTree<>();
+            TreeMap<Integer, Integer> expected = new TreeMap<>();
+            int range = 1 + random.nextInt(2000);
+            for (int i = 0; i < 5000; i++) {
+                int key = random.nextInt(range);
+                if (random.nextInt(3) == 0) {
+                    tree.remove(key);
+                    expected.remove(key);
+                } else {
+                    tree.add(key, i);
+                    expected.put(key, i);
+                }
+            }
+            if (tree.getSize() != expected.size())
+                throw new RuntimeException("Error");
+            for (int key = -2; key <= range + 1; key++)
+                if (!Objects.equals(tree.floor(key), expected.floorKey(key))
+                        || !Objects.equals(tree.ceiling(key), expected.ceilingKey(key))
+                        || tree.rank(key) != expected.headMap(key).size())
+                    throw new RuntimeException("Error");
+            int rank = 0;
+            for (int key : expected.keySet())
+                if (tree.select(rank++) != key)
+                    throw new RuntimeException("Error");
+            for (int k = 0; k < 100; k++) {
+                int lo = random.nextInt(range + 4) - 2, hi = lo + random.nextInt(range / 2 + 2) - 1;
+                ArrayList<Integer> keys = new ArrayList<>();
+                for (int key : tree.range(lo, hi))
+                    keys.add(key);
+                if (lo <= hi ? !keys.equals(new ArrayList<>(expected.subMap(lo, true, hi, true).keySet())) : !keys.isEmpty())
+                    throw new RuntimeException("Error");
+            }
+        }
+
+        // 由有序数组直接建树，n取0到300，以及2的幂附近的大小(包括并行建树的阈值附近)，
+        // 检查大小、AVL树的性质，以及select(i)得到的正是第i个键
+        ArrayList<Integer> sizes = new ArrayList<>();
+        for (int n = 0; n <= 300; n++)
+            sizes.add(n);
+        for (int p = 9; p <= 15; p++)
+            for (int n = (1 << p) - 1; n <= (1 << p) + 1; n++)
+                sizes.add(n);
+        for (int n : sizes) {
+            Integer[] keys = new Integer[n];
+            for (int i = 0; i < n; i++)
+                keys[i] = 2 * i;
+            AVLTree<Integer, Integer> tree = fromSorted(keys, keys);
+            AVLTree<Integer, Integer> parallel = fromSortedParallel(keys, keys);
+            if (tree.getSize() != n || parallel.getSize() != n)
+                throw new RuntimeException("Error");
+            if (!tree.isBST() || !tree.isBalanced() || !parallel.isBST() || !parallel.isBalanced())
+                throw new RuntimeException("Error");
+            for (int i = 0; i < n; i++)
+                if (tree.select(i) != 2 * i || parallel.select(i) != 2 * i)
+                    throw new RuntimeException("Error");
+        }
+        System.out.println("OK");
+    }
+}
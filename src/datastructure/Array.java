@@ -1,3 +1,5 @@
+package datastructure;
+
 public class Array<E> {
     private E[] data;
     private int size;
@@ -95,7 +97,7 @@ public class Array<E> {
      *  get data from array
      */
     E get(int index){
-        if(index<0 || index > size){
+        if(index<0 || index >= size){
             throw new IllegalArgumentException("Get Failed, illegal index");
         }
         return data[index];
@@ -104,7 +106,7 @@ public class Array<E> {
      *  set the index position value
      */
     void set(int index, E e){
-        if(index<0 || index > size){
+        if(index<0 || index >= size){
             throw new IllegalArgumentException("Get Failed, illegal index");
         }
         data[index]=e;
@@ -187,7 +189,7 @@ public class Array<E> {
 
     //交换i j 的位置
     public void swap(int i, int j){
-        if(i<0||i>=size||j<0||j>size){
+        if(i<0||i>=size||j<0||j>=size){
             throw new IllegalArgumentException("Index is illegal");
         }
         E t = data[i];
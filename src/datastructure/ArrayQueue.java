@@ -1,8 +1,15 @@
+package datastructure;
+
+// 用LoopDeque实现的队列，入队和出队都是均摊O(1)
 public class ArrayQueue<E> implements Queue<E> {
-    private Array<E> array;
+    private LoopDeque<E> array;
 
     public ArrayQueue(int capacity) {
-        array = new Array<>(capacity);
+        array = new LoopDeque<>(capacity);
+    }
+
+    public ArrayQueue() {
+        array = new LoopDeque<>();
     }
 
     @Override
@@ -21,7 +28,7 @@ public class ArrayQueue<E> implements Queue<E> {
 
     @Override
     public void enqueue(E e) {
-        array.addlast(e);
+        array.addLast(e);
     }
 
     @Override
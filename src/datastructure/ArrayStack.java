@@ -1,11 +1,14 @@
+package datastructure;
+
+// 用LoopDeque实现的栈，只在队尾一端进出
 public class ArrayStack<E> implements Stack<E> {
-    Array<E> array;
+    LoopDeque<E> array;
     public ArrayStack(int capacity){
-        array = new Array<>(capacity);
+        array = new LoopDeque<>(capacity);
     }
 
     public ArrayStack(){
-        array = new Array<>();
+        array = new LoopDeque<>();
     }
     @Override
     public int getSize() {
@@ -21,7 +24,7 @@ public class ArrayStack<E> implements Stack<E> {
     }
     @Override
     public void push(E e){
-        array.addlast(e);
+        array.addLast(e);
     }
 
     @Override
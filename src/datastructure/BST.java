@@ -1,3 +1,5 @@
+package datastructure;
+
 import java.util.LinkedList;
 import java.util.Queue;
 import java.util.Stack;
@@ -0,0 +1,318 @@
+package datastructure;
+
+import java.util.ArrayList;
+import java.util.Objects;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+public class BSTMap<K extends Comparable<K>, V> implements Map<K, V> {
+    private class Node {
+        public K key;
+        public V value;
+        public Node left, right;
+        // 以该节点为根的子树中的节点个数
+        public int size;
+
+        public Node(K key, V value) {
+            this.key = key;
+            this.value = value;
+            left = null;
+            right = null;
+            size = 1;
+        }
+    }
+
+    private Node root;
+    private int size;
+
+    public BSTMap() {
+        root = null;
+        size = 0;
+    }
+
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // 向二分搜索树中添加新的元素(key, value)
+    @Override
+    public void add(K key, V value) {
+        root = add(root, key, value, null);
+    }
+
+    // 若key不存在则添加(key, value)，否则把旧值和value融合，只需要从根向下遍历一次
+    @Override
+    public void merge(K key, V value, Merger<V> merger) {
+        root = add(root, key, value, merger);
+    }
+
+    // 若key不存在则用mappingFunction计算出值并添加，返回key对应的值
+    // 与merge一样只需要从根向下遍历一次，mappingFunction中不能修改这棵树
+    @Override
+    public V computeIfAbsent(K key, Function<K, V> mappingFunction) {
+        if (root == null) {
+            root = new Node(key, mappingFunction.apply(key));
+            size++;
+            return root.value;
+        }
+        return computeIfAbsent(root, key, mappingFunction).value;
+    }
+
+    // 在以node(不为空)为根的二分搜索树中查找key所在的节点，递归算法
+    // key不存在时在查找停下的空位置上挂上值为mappingFunction.apply(key)的新节点，返回这个新节点
+    private Node computeIfAbsent(Node node, K key, Function<K, V> mappingFunction) {
+        int cmp = key.compareTo(node.key);
+        if (cmp == 0)
+            return node;
+
+        Node ret;
+        Node child = cmp < 0 ? node.left : node.right;
+        if (child != null)
+            ret = computeIfAbsent(child, key, mappingFunction);
+        else {
+            ret = new Node(key, mappingFunction.apply(key));
+            size++;
+            if (cmp < 0)
+                node.left = ret;
+            else
+                node.right = ret;
+        }
+        node.size = 1 + size(node.left) + size(node.right);
+        return ret;
+    }
+
+    // 向以node为根的二分搜索树中插入元素(key, value)，递归算法
+    // key已存在时，merger为null则直接覆盖旧值，否则用merger融合旧值和value
+    // 返回插入新节点后二分搜索树的根
+    private Node add(Node node, K key, V value, Merger<V> merger) {
+
+        if (node == null) {
+            size++;
+            return new Node(key, value);
+        }
+
+        if (key.compareTo(node.key) < 0)
+            node.left = add(node.left, key, value, merger);
+        else if (key.compareTo(node.key) > 0)
+            node.right = add(node.right, key, value, merger);
+        else // key.compareTo(node.key) == 0
+            node.value = merger == null ? value : merger.merge(node.value, value);
+
+        node.size = 1 + size(node.left) + size(node.right);
+        return node;
+    }
+
+    private Node getNode(Node node, K key) {
+        if (node == null)
+            return null;
+        if (key.compareTo(node.key) == 0)
+            return node;
+        else if (key.compareTo(node.key) < 0)
+            return getNode(node.left, key);
+        else
+            return getNode(node.right, key);
+    }
+
+    @Override
+    public boolean contains(K key) {
+        return getNode(root, key) != null;
+    }
+
+    @Override
+    public V get(K key) {
+        Node node = getNode(root, key);
+        return node == null ? null : node.value;
+    }
+
+    @Override
+    public void set(K key, V newValue) {
+        Node node = getNode(root, key);
+        if (node == null)
+            throw new IllegalArgumentException(key + "does not exists in the Map");
+        else
+            node.value = newValue;
+    }
+
+    @Override
+    public V remove(K key){
+
+        Node node = getNode(root, key);
+        if(node != null){
+            root = remove(root, key);
+            return node.value;
+        }
+        return null;
+    }
+
+    private Node remove(Node node, K key) {
+
+        if (node == null)
+            return null;
+
+        if (key.compareTo(node.key) < 0) {
+            node.left = remove(node.left, key);
+            node.size = 1 + size(node.left) + size(node.right);
+            return node;
+        } else if (key.compareTo(node.key) > 0) {
+            node.right = remove(node.right, key);
+            node.size = 1 + size(node.left) + size(node.right);
+            return node;
+        } else {   // key.compareTo(node.key) == 0
+
+            // 待删除节点左子树为空的情况
+            if (node.left == null) {
+                Node rightNode = node.right;
+                node.right = null;
+                size--;
+                return rightNode;
+            }
+
+            // 待删除节点右子树为空的情况
+            if (node.right == null) {
+                Node leftNode = node.left;
+                node.left = null;
+                size--;
+                return leftNode;
+            }
+
+            // 待删除节点左右子树均不为空的情况
+
+            // 找到比待删除节点大的最小节点, 即待删除节点右子树的最小节点
+            // 用这个节点顶替待删除节点的位置
+            Node successor = minimum(node.right);
+            successor.right = removeMin(node.right);
+            successor.left = node.left;
+            successor.size = 1 + size(successor.left) + size(successor.right);
+
+            node.left = node.right = null;
+
+            return successor;
+        }
+    }
+
+        // 返回以node为根的二分搜索树的最小值所在的节点
+        private Node minimum(Node node){
+            if(node.left == null)
+                return node;
+            return minimum(node.left);
+        }
+
+        // 删除掉以node为根的二分搜索树中的最小节点
+        // 返回删除节点后新的二分搜索树的根
+        private Node removeMin(Node node){
+
+            if(node.left == null){
+                Node rightNode = node.right;
+                node.right = null;
+                size --;
+                return rightNode;
+            }
+
+            node.left = removeMin(node.left);
+            node.size = 1 + size(node.left) + size(node.right);
+            return node;
+        }
+
+    // 返回以node为根的子树中的节点个数
+    private int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    // 让OrderedTrees读取这棵树的节点
+    private final OrderedTrees.Nodes<Node, K> nodes = new OrderedTrees.Nodes<Node, K>() {
+        @Override
+        public K key(Node node) {
+            return node.key;
+        }
+
+        @Override
+        public Node left(Node node) {
+            return node.left;
+        }
+
+        @Override
+        public Node right(Node node) {
+            return node.right;
+        }
+
+        @Override
+        public int size(Node node) {
+            return node == null ? 0 : node.size;
+        }
+    };
+
+    // 返回小于等于key的最大的键，不存在时返回null
+    public K floor(K key) {
+        return OrderedTrees.floor(root, key, nodes);
+    }
+
+    // 返回大于等于key的最小的键，不存在时返回null
+    public K ceiling(K key) {
+        return OrderedTrees.ceiling(root, key, nodes);
+    }
+
+    // 返回小于key的键的个数，即key的排名(从0开始)
+    public int rank(K key) {
+        return OrderedTrees.rank(root, key, nodes);
+    }
+
+    // 返回排名为k(从0开始)的键
+    public K select(int k) {
+        return OrderedTrees.select(root, k, nodes);
+    }
+
+    // 按从小到大的顺序遍历[lo, hi]中的键
+    // 遍历是懒惰的，迭代器只保存从根到当前节点的一条路径，不会生成中间的列表
+    public Iterable<K> range(K lo, K hi) {
+        return () -> new OrderedTrees.RangeIterator<>(root, lo, hi, nodes);
+    }
+
+    public static void main(String[] args) {
+
+        Random random = new Random();
+        // 随机地插入和删除之后，和java.util.TreeMap对比floor、ceiling、rank、select和range，
+        // 查询的键也包括已存的键的范围之外的键
+        for (int round = 0; round < 20; round++) {
+            BSTMap<Integer, Integer> tree = new BSTMap<>();
+            TreeMap<Integer, Integer> expected = new TreeMap<>();
+            int range = 1 + random.nextInt(2000);
+            for (int i = 0; i < 5000; i++) {
+                int key = random.nextInt(range);
+                if (random.nextInt(3) == 0) {
+                    tree.remove(key);
+                    expected.remove(key);
+                } else {
+                    tree.add(key, i);
+                    expected.put(key, i);
+                }
+            }
+            if (tree.getSize() != expected.size())
+                throw new RuntimeException("Error");
+            for (int key = -2; key <= range + 1; key++)
+                if (!Objects.equals(tree.floor(key), expected.floorKey(key))
+                        || !Objects.equals(tree.ceiling(key), expected.ceilingKey(key))
+                        || tree.rank(key) != expected.headMap(key).size())
+                    throw new RuntimeException("Error");
+            int rank = 0;
+            for (int key : expected.keySet())
+                if (tree.select(rank++) != key)
+                    throw new RuntimeException("Error");
+            for (int k = 0; k < 100; k++) {
+                int lo = random.nextInt(range + 4) - 2, hi = lo + random.nextInt(range / 2 + 2) - 1;
+                ArrayList<Integer> keys = new ArrayList<>();
+                for (int key : tree.range(lo, hi))
+                    keys.add(key);
+                if (lo <= hi ? !keys.equals(new ArrayList<>(expected.subMap(lo, true, hi, true).keySet())) : !keys.isEmpty())
+                    throw new RuntimeException("Error");
+            }
+        }
+        System.out.println("OK");
+    }
+}
@@ -1,3 +1,5 @@
+package datastructure;
+
 public class BSTSet<E extends Comparable<E>> implements Set<E> {
     private BST<E> bst;
     public BSTSet(){
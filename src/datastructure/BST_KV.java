@@ -1,4 +1,7 @@
+package datastructure;
+
 import java.util.ArrayList;
+import java.util.function.Function;
 
 public class BST_KV<K extends Comparable<K>, V> {
 
@@ -33,12 +36,49 @@ public class BST_KV<K extends Comparable<K>, V> {
 
     // 向二分搜索树中添加新的元素(key, value)
     public void add(K key, V value){
-        root = add(root, key, value);
+        root = add(root, key, value, null);
+    }
+
+    // 若key不存在则添加(key, value)，否则把旧值和value融合，只需要从根向下遍历一次
+    public void merge(K key, V value, Merger<V> merger){
+        root = add(root, key, value, merger);
+    }
+
+    // 若key不存在则用mappingFunction计算出值并添加，返回key对应的值
+    // 与merge一样只需要从根向下遍历一次，mappingFunction中不能修改这棵树
+    public V computeIfAbsent(K key, Function<K, V> mappingFunction){
+        if(root == null){
+            root = new Node(key, mappingFunction.apply(key));
+            size ++;
+            return root.value;
+        }
+        return computeIfAbsent(root, key, mappingFunction).value;
+    }
+
+    // 在以node(不为空)为根的二分搜索树中查找key所在的节点，递归算法
+    // key不存在时在查找停下的空位置上挂上值为mappingFunction.apply(key)的新节点，返回这个新节点
+    private Node computeIfAbsent(Node node, K key, Function<K, V> mappingFunction){
+        int cmp = key.compareTo(node.key);
+        if(cmp == 0)
+            return node;
+
+        Node child = cmp < 0 ? node.left : node.right;
+        if(child != null)
+            return computeIfAbsent(child, key, mappingFunction);
+
+        Node ret = new Node(key, mappingFunction.apply(key));
+        size ++;
+        if(cmp < 0)
+            node.left = ret;
+        else
+            node.right = ret;
+        return ret;
     }
 
     // 向以node为根的二分搜索树中插入元素(key, value)，递归算法
+    // key已存在时，merger为null则直接覆盖旧值，否则用merger融合旧值和value
     // 返回插入新节点后二分搜索树的根
-    private Node add(Node node, K key, V value){
+    private Node add(Node node, K key, V value, Merger<V> merger){
 
         if(node == null){
             size ++;
@@ -46,11 +86,11 @@ public class BST_KV<K extends Comparable<K>, V> {
         }
 
         if(key.compareTo(node.key) < 0)
-            node.left = add(node.left, key, value);
+            node.left = add(node.left, key, value, merger);
         else if(key.compareTo(node.key) > 0)
-            node.right = add(node.right, key, value);
+            node.right = add(node.right, key, value, merger);
         else // key.compareTo(node.key) == 0
-            node.value = value;
+            node.value = merger == null ? value : merger.merge(node.value, value);
 
         return node;
     }
@@ -0,0 +1,584 @@
+package datastructure;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+// 基于B+树的有序映射
+// 每个节点用数组连续存放最多fanout个键，在节点内二分查找，
+// 高度约为log_{fanout/2}(n)，比二叉树少得多，一次查找只访问很少几个节点
+// 所有键值对都存放在叶子中，叶子之间用next串起来，按顺序遍历时不需要回到上层
+public class BTreeMap<K extends Comparable<K>, V> implements Map<K, V> {
+
+    public static final int MIN_FANOUT = 16;
+    public static final int MAX_FANOUT = 128;
+    private static final int DEFAULT_FANOUT = 64;
+
+    // 节点中存放的键的个数为n
+    // 数组比最大容量多留一个位置，插入后溢出的节点先放下多出的那个键再分裂
+    private static class Node {
+        public Object[] keys;
+        public int n;
+
+        public Node(int capacity) {
+            keys = new Object[capacity];
+            n = 0;
+        }
+    }
+
+    // 叶子节点最多存放fanout个键值对
+    private static class Leaf extends Node {
+        public Object[] values;
+        public Leaf next;
+
+        public Leaf(int fanout) {
+            super(fanout + 1);
+            values = new Object[fanout + 1];
+            next = null;
+        }
+    }
+
+    // 内部节点最多有fanout个孩子，n个键把n + 1个孩子分开
+    // keys[i]是children[i + 1]中最小的键的下界：children[i]中的键都小于keys[i]，children[i + 1]中的键都不小于keys[i]
+    private static class Inner extends Node {
+        public Node[] children;
+
+        public Inner(int fanout) {
+            super(fanout);
+            children = new Node[fanout + 1];
+        }
+    }
+
+    private int fanout;
+    // 除根以外，叶子至少有minLeaf个键，内部节点至少有minInner个键
+    private int minLeaf, minInner;
+    private Node root;
+    private int size;
+
+    // 分裂时由下层传给上层的分隔键，删除时返回被删掉的值，computeIfAbsent时返回key对应的值
+    private Object splitKey;
+    private V removed;
+    private V computed;
+
+    public BTreeMap(int fanout) {
+        if (fanout < MIN_FANOUT || fanout > MAX_FANOUT)
+            throw new IllegalArgumentException("Fanout must be in [" + MIN_FANOUT + ", " + MAX_FANOUT + "].");
+        this.fanout = fanout;
+        minLeaf = fanout / 2;
+        minInner = (fanout + 1) / 2 - 1;
+        root = new Leaf(fanout);
+        size = 0;
+    }
+
+    public BTreeMap() {
+        this(DEFAULT_FANOUT);
+    }
+
+    public int getFanout() {
+        return fanout;
+    }
+
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // 返回树的高度，只有一个叶子时高度为1
+    public int getHeight() {
+        int height = 1;
+        for (Node cur = root; cur instanceof Inner; cur = ((Inner) cur).children[0])
+            height++;
+        return height;
+    }
+
+    @SuppressWarnings("unchecked")
+    private K key(Node node, int i) {
+        return (K) node.keys[i];
+    }
+
+    // 在node的前n个键中二分查找key
+    // 找到时返回下标，否则返回-(插入位置) - 1，与Arrays.binarySearch的约定相同
+    private int search(Node node, K key) {
+        int l = 0, r = node.n - 1;
+        while (l <= r) {
+            int mid = (l + r) >>> 1;
+            int cmp = key.compareTo(key(node, mid));
+            if (cmp > 0)
+                l = mid + 1;
+            else if (cmp < 0)
+                r = mid - 1;
+            else
+                return mid;
+        }
+        return -(l + 1);
+    }
+
+    // 在内部节点node中，返回key所在的孩子的下标
+    private int childIndex(Inner node, K key) {
+        int i = search(node, key);
+        return i >= 0 ? i + 1 : -(i + 1);
+    }
+
+    // 返回key所在的叶子
+    private Leaf findLeaf(K key) {
+        Node cur = root;
+        while (cur instanceof Inner) {
+            Inner inner = (Inner) cur;
+            cur = inner.children[childIndex(inner, key)];
+        }
+        return (Leaf) cur;
+    }
+
+    @Override
+    public void add(K key, V value) {
+        insert(key, value, null);
+    }
+
+    @Override
+    public void merge(K key, V value, Merger<V> merger) {
+        insert(key, value, merger);
+    }
+
+    // 若key不存在则用mappingFunction计算出值并添加，返回key对应的值
+    // 和add一样只从根向下走一次，未命中时直接插入找到的叶子，mappingFunction中不能修改这棵树
+    @Override
+    public V computeIfAbsent(K key, Function<K, V> mappingFunction) {
+        growRoot(computeIfAbsent(root, key, mappingFunction));
+        V ret = computed;
+        computed = null;
+        return ret;
+    }
+
+    @Override
+    public boolean contains(K key) {
+        return search(findLeaf(key), key) >= 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(K key) {
+        Leaf leaf = findLeaf(key);
+        int i = search(leaf, key);
+        return i >= 0 ? (V) leaf.values[i] : null;
+    }
+
+    @Override
+    public void set(K key, V newValue) {
+        Leaf leaf = findLeaf(key);
+        int i = search(leaf, key);
+        if (i < 0)
+            throw new IllegalArgumentException(key + " doesn't exist!");
+
+        leaf.values[i] = newValue;
+    }
+
+    // 插入(key, value)
+    private void insert(K key, V value, Merger<V> merger) {
+        growRoot(insert(root, key, value, merger));
+    }
+
+    // 根分裂出了right时，新建一个根，树长高一层
+    private void growRoot(Node right) {
+        if (right != null) {
+            Inner newRoot = new Inner(fanout);
+            newRoot.keys[0] = splitKey;
+            newRoot.children[0] = root;
+            newRoot.children[1] = right;
+            newRoot.n = 1;
+            root = newRoot;
+        }
+        splitKey = null;
+    }
+
+    // 向以node为根的子树中插入(key, value)，key已存在时merger为null则直接覆盖旧值，否则用merger融合
+    // node分裂时返回分裂出的右半部分，分隔键放在splitKey中；没有分裂时返回null
+    // 树的高度只有几层，这里的递归深度很小
+    @SuppressWarnings("unchecked")
+    private Node insert(Node node, K key, V value, Merger<V> merger) {
+
+        if (node instanceof Leaf) {
+            Leaf leaf = (Leaf) node;
+            int i = search(leaf, key);
+            if (i >= 0) {
+                leaf.values[i] = merger == null ? value : merger.merge((V) leaf.values[i], value);
+                return null;
+            }
+            return insertAt(leaf, -(i + 1), key, value);
+        }
+
+        Inner inner = (Inner) node;
+        int i = childIndex(inner, key);
+        return addChild(inner, i, insert(inner.children[i], key, value, merger));
+    }
+
+    // 和insert一样向以node为根的子树中插入，只是key已存在时不做修改，
+    // 不存在时才用mappingFunction计算出值，key对应的值放在computed中
+    @SuppressWarnings("unchecked")
+    private Node computeIfAbsent(Node node, K key, Function<K, V> mappingFunction) {
+
+        if (node instanceof Leaf) {
+            Leaf leaf = (Leaf) node;
+            int i = search(leaf, key);
+            if (i >= 0) {
+                computed = (V) leaf.values[i];
+                return null;
+            }
+            computed = mappingFunction.apply(key);
+            return insertAt(leaf, -(i + 1), key, computed);
+        }
+
+        Inner inner = (Inner) node;
+        int i = childIndex(inner, key);
+        return addChild(inner, i, computeIfAbsent(inner.children[i], key, mappingFunction));
+    }
+
+    // 在leaf的第i个位置放入(key, value)，叶子溢出时分裂，返回分裂出的右半部分，否则返回null
+    private Node insertAt(Leaf leaf, int i, K key, V value) {
+        System.arraycopy(leaf.keys, i, leaf.keys, i + 1, leaf.n - i);
+        System.arraycopy(leaf.values, i, leaf.values, i + 1, leaf.n - i);
+        leaf.keys[i] = key;
+        leaf.values[i] = value;
+        leaf.n++;
+        size++;
+        return leaf.n > fanout ? splitLeaf(leaf) : null;
+    }
+
+    // inner的第i个孩子分裂出了right时，把分隔键splitKey和right放到它后面，inner溢出时继续分裂
+    // 返回inner分裂出的右半部分，没有分裂时返回null
+    private Node addChild(Inner inner, int i, Node right) {
+        if (right == null)
+            return null;
+
+        System.arraycopy(inner.keys, i, inner.keys, i + 1, inner.n - i);
+        System.arraycopy(inner.children, i + 1, inner.children, i + 2, inner.n - i);
+        inner.keys[i] = splitKey;
+        inner.children[i + 1] = right;
+        inner.n++;
+        return inner.n == fanout ? splitInner(inner) : null;
+    }
+
+    // 把溢出的叶子的后一半键值对移到新的叶子中，新叶子的第一个键复制到上层作为分隔键
+    private Leaf splitLeaf(Leaf leaf) {
+        int mid = leaf.n / 2;
+        Leaf right = new Leaf(fanout);
+        right.n = leaf.n - mid;
+        System.arraycopy(leaf.keys, mid, right.keys, 0, right.n);
+        System.arraycopy(leaf.values, mid, right.values, 0, right.n);
+        clear(leaf.keys, mid, leaf.n);
+        clear(leaf.values, mid, leaf.n);
+        leaf.n = mid;
+
+        right.next = leaf.next;
+        leaf.next = right;
+        splitKey = right.keys[0];
+        return right;
+    }
+
+    // 把溢出的内部节点中间的键提到上层，它右边的键和孩子移到新节点中
+    private Inner splitInner(Inner inner) {
+        int mid = inner.n / 2;
+        Inner right = new Inner(fanout);
+        right.n = inner.n - mid - 1;
+        System.arraycopy(inner.keys, mid + 1, right.keys, 0, right.n);
+        System.arraycopy(inner.children, mid + 1, right.children, 0, right.n + 1);
+        splitKey = inner.keys[mid];
+        clear(inner.keys, mid, inner.n);
+        clear(inner.children, mid + 1, inner.n + 1);
+        inner.n = mid;
+        return right;
+    }
+
+    // 清空数组中不再使用的位置，避免留着已经删除的键值的引用
+    private static void clear(Object[] arr, int from, int to) {
+        for (int i = from; i < to; i++)
+            arr[i] = null;
+    }
+
+    // 从B+树中删除键为key的键值对，根只剩一个孩子时树降低一层
+    @Override
+    public V remove(K key) {
+        removed = null;
+        remove(root, key);
+        if (root instanceof Inner && root.n == 0)
+            root = ((Inner) root).children[0];
+        V ret = removed;
+        removed = null;
+        return ret;
+    }
+
+    // 从以node为根的子树中删除key，孩子中的键数少于下限时，向相邻的兄弟借一个键或者与兄弟合并
+    @SuppressWarnings("unchecked")
+    private void remove(Node node, K key) {
+
+        if (node instanceof Leaf) {
+            Leaf leaf = (Leaf) node;
+            int i = search(leaf, key);
+            if (i < 0)
+                return;
+
+            removed = (V) leaf.values[i];
+            System.arraycopy(leaf.keys, i + 1, leaf.keys, i, leaf.n - i - 1);
+            System.arraycopy(leaf.values, i + 1, leaf.values, i, leaf.n - i - 1);
+            leaf.n--;
+            leaf.keys[leaf.n] = null;
+            leaf.values[leaf.n] = null;
+            size--;
+            return;
+        }
+
+        Inner inner = (Inner) node;
+        int i = childIndex(inner, key);
+        Node child = inner.children[i];
+        remove(child, key);
+        if (child.n >= (child instanceof Leaf ? minLeaf : minInner))
+            return;
+
+        if (i > 0 && inner.children[i - 1].n > (child instanceof Leaf ? minLeaf : minInner))
+            borrowFromLeft(inner, i);
+        else if (i < inner.n && inner.children[i + 1].n > (child instanceof Leaf ? minLeaf : minInner))
+            borrowFromRight(inner, i);
+        else if (i > 0)
+            mergeChildren(inner, i - 1);
+        else
+            mergeChildren(inner, i);
+    }
+
+    // 把parent.children[i - 1]的最后一个键移给parent.children[i]
+    private void borrowFromLeft(Inner parent, int i) {
+        Node left = parent.children[i - 1], child = parent.children[i];
+        System.arraycopy(child.keys, 0, child.keys, 1, child.n);
+
+        if (child instanceof Leaf) {
+            Leaf l = (Leaf) left, c = (Leaf) child;
+            System.arraycopy(c.values, 0, c.values, 1, c.n);
+            c.keys[0] = l.keys[l.n - 1];
+            c.values[0] = l.values[l.n - 1];
+            l.keys[l.n - 1] = null;
+            l.values[l.n - 1] = null;
+            parent.keys[i - 1] = c.keys[0];
+        } else {
+            Inner l = (Inner) left, c = (Inner) child;
+            System.arraycopy(c.children, 0, c.children, 1, c.n + 1);
+            c.keys[0] = parent.keys[i - 1];
+            c.children[0] = l.children[l.n];
+            parent.keys[i - 1] = l.keys[l.n - 1];
+            l.keys[l.n - 1] = null;
+            l.children[l.n] = null;
+        }
+        left.n--;
+        child.n++;
+    }
+
+    // 把parent.children[i + 1]的第一个键移给parent.children[i]
+    private void borrowFromRight(Inner parent, int i) {
+        Node child = parent.children[i], right = parent.children[i + 1];
+
+        if (child instanceof Leaf) {
+            Leaf c = (Leaf) child, r = (Leaf) right;
+            c.keys[c.n] = r.keys[0];
+            c.values[c.n] = r.values[0];
+            System.arraycopy(r.keys, 1, r.keys, 0, r.n - 1);
+            System.arraycopy(r.values, 1, r.values, 0, r.n - 1);
+            r.keys[r.n - 1] = null;
+            r.values[r.n - 1] = null;
+            parent.keys[i] = r.keys[0];
+        } else {
+            Inner c = (Inner) child, r = (Inner) right;
+            c.keys[c.n] = parent.keys[i];
+            c.children[c.n + 1] = r.children[0];
+            parent.keys[i] = r.keys[0];
+            System.arraycopy(r.keys, 1, r.keys, 0, r.n - 1);
+            System.arraycopy(r.children, 1, r.children, 0, r.n);
+            r.keys[r.n - 1] = null;
+            r.children[r.n] = null;
+        }
+        child.n++;
+        right.n--;
+    }
+
+    // 把parent.children[i + 1]合并到parent.children[i]中，并删掉它们之间的分隔键
+    private void mergeChildren(Inner parent, int i) {
+        Node left = parent.children[i], right = parent.children[i + 1];
+
+        if (left instanceof Leaf) {
+            Leaf l = (Leaf) left, r = (Leaf) right;
+            System.arraycopy(r.keys, 0, l.keys, l.n, r.n);
+            System.arraycopy(r.values, 0, l.values, l.n, r.n);
+            l.n += r.n;
+            l.next = r.next;
+        } else {
+            Inner l = (Inner) left, r = (Inner) right;
+            l.keys[l.n] = parent.keys[i];
+            System.arraycopy(r.keys, 0, l.keys, l.n + 1, r.n);
+            System.arraycopy(r.children, 0, l.children, l.n + 1, r.n + 1);
+            l.n += r.n + 1;
+        }
+
+        System.arraycopy(parent.keys, i + 1, parent.keys, i, parent.n - i - 1);
+        System.arraycopy(parent.children, i + 2, parent.children, i + 1, parent.n - i - 1);
+        parent.n--;
+        parent.keys[parent.n] = null;
+        parent.children[parent.n + 1] = null;
+    }
+
+    // 按键从小到大的顺序遍历所有键值对，沿着叶子链表顺序扫描
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<K, V> action) {
+        Node cur = root;
+        while (cur instanceof Inner)
+            cur = ((Inner) cur).children[0];
+        for (Leaf leaf = (Leaf) cur; leaf != null; leaf = leaf.next)
+            for (int i = 0; i < leaf.n; i++)
+                action.accept((K) leaf.keys[i], (V) leaf.values[i]);
+    }
+
+    // 按从小到大的顺序遍历[lo, hi]中的键，迭代器只记住当前的叶子和下标
+    public Iterable<K> range(K lo, K hi) {
+        return () -> new RangeIterator(lo, hi);
+    }
+
+    private class RangeIterator implements Iterator<K> {
+        private Leaf leaf;
+        private int index;
+        private K hi;
+
+        RangeIterator(K lo, K hi) {
+            this.hi = hi;
+            leaf = findLeaf(lo);
+            int i = search(leaf, lo);
+            index = i >= 0 ? i : -(i + 1);
+            skipExhausted();
+        }
+
+        // 当前叶子已经遍历完时转到下一个非空的叶子
+        private void skipExhausted() {
+            while (leaf != null && index >= leaf.n) {
+                leaf = leaf.next;
+                index = 0;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return leaf != null && key(leaf, index).compareTo(hi) <= 0;
+        }
+
+        @Override
+        public K next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            K ret = key(leaf, index++);
+            skipExhausted();
+            return ret;
+        }
+    }
+
+    // 检查B+树的性质：节点内的键有序且在上层分隔键限定的范围内，
+    // 除根以外的节点满足最少键数，所有叶子在同一层，叶子链表按顺序串起所有的键
+    public boolean isBTree() {
+        int[] leafDepth = {-1};
+        if (!isBTree(root, null, null, 1, leafDepth))
+            return false;
+
+        int count = 0;
+        K prev = null;
+        Node cur = root;
+        while (cur instanceof Inner)
+            cur = ((Inner) cur).children[0];
+        for (Leaf leaf = (Leaf) cur; leaf != null; leaf = leaf.next)
+            for (int i = 0; i < leaf.n; i++, count++) {
+                if (prev != null && prev.compareTo(key(leaf, i)) >= 0)
+                    return false;
+                prev = key(leaf, i);
+            }
+        return count == size;
+    }
+
+    // 判断以node为根的子树中的键都在[lo, hi)中，lo或hi为null表示没有限制
+    private boolean isBTree(Node node, K lo, K hi, int depth, int[] leafDepth) {
+        if (node != root && node.n < (node instanceof Leaf ? minLeaf : minInner))
+            return false;
+        for (int i = 0; i < node.n; i++) {
+            if (lo != null && key(node, i).compareTo(lo) < 0)
+                return false;
+            if (hi != null && key(node, i).compareTo(hi) >= 0)
+                return false;
+            if (i > 0 && key(node, i - 1).compareTo(key(node, i)) >= 0)
+                return false;
+        }
+
+        if (node instanceof Leaf) {
+            if (leafDepth[0] == -1)
+                leafDepth[0] = depth;
+            return leafDepth[0] == depth;
+        }
+
+        Inner inner = (Inner) node;
+        for (int i = 0; i <= inner.n; i++) {
+            K l = i == 0 ? lo : key(inner, i - 1);
+            K h = i == inner.n ? hi : key(inner, i);
+            if (!isBTree(inner.children[i], l, h, depth + 1, leafDepth))
+                return false;
+        }
+        return true;
+    }
+
+    public static void main(String[] args) {
+
+        int n = 1000000;
+        Random random = new Random();
+        for (int fanout = MIN_FANOUT; fanout <= MAX_FANOUT; fanout *= 2) {
+            BTreeMap<Integer, Integer> map = new BTreeMap<>(fanout);
+            TreeMap<Integer, Integer> treeMap = new TreeMap<>();
+            for (int i = 0; i < 200000; i++) {
+                int key = random.nextInt(20000);
+                int op = random.nextInt(4);
+                if (op == 0) {
+                    if (!Objects.equals(map.remove(key), treeMap.remove(key)))
+                        throw new RuntimeException("Error");
+                } else if (op == 1) {
+                    int value = i;
+                    if (!Objects.equals(map.computeIfAbsent(key, k -> value), treeMap.computeIfAbsent(key, k -> value)))
+                        throw new RuntimeException("Error");
+                } else {
+                    map.merge(key, 1, (a, b) -> a + b);
+                    treeMap.merge(key, 1, Integer::sum);
+                }
+            }
+            if (map.getSize() != treeMap.size() || !map.isBTree())
+                throw new RuntimeException("Error");
+            int[] count = {0};
+            map.forEach((k, v) -> {
+                if (!v.equals(treeMap.get(k)))
+                    throw new RuntimeException("Error");
+                count[0]++;
+            });
+            Iterator<Integer> it = treeMap.subMap(5000, true, 15000, true).keySet().iterator();
+            for (int key : map.range(5000, 15000))
+                if (!it.hasNext() || key != it.next())
+                    throw new RuntimeException("Error");
+            if (count[0] != treeMap.size() || it.hasNext())
+                throw new RuntimeException("Error");
+
+            BTreeMap<Integer, Integer> big = new BTreeMap<>(fanout);
+            for (int i = 0; i < n; i++)
+                big.add(random.nextInt(), i);
+            System.out.println("fanout " + fanout + ", height of " + big.getSize() + " keys : " + big.getHeight());
+        }
+
+        AVLTree<Integer, Integer> avl = new AVLTree<>();
+        for (int i = 0; i < n; i++)
+            avl.add(random.nextInt(), i);
+        System.out.println("AVLTree, height of " + avl.getSize() + " keys : " + avl.getHeight());
+        System.out.println("OK");
+    }
+}
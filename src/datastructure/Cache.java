@@ -0,0 +1,285 @@
+package datastructure;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.function.ToLongBiFunction;
+
+// 有上限的缓存：键值对存放在任意一个Map(HashTable、AVLMap等)中，由EvictionPolicy决定超出上限时淘汰谁
+// 每个键值对的权重由weigher给出，所有键值对的权重之和超过maxWeight时不断淘汰，直到不超过为止；
+// 按个数限制时每个键值对的权重都是1
+// get会统计命中和未命中的次数，被淘汰的键值对个数也会被统计
+// value不能为null，get返回null就表示未命中
+public class Cache<K, V> implements Map<K, V> {
+
+    public enum Policy {
+        LRU, LFU, W_TINY_LFU
+    }
+
+    private Map<K, V> store;
+    private EvictionPolicy<K> policy;
+    private ToLongBiFunction<K, V> weigher;
+    private long maxWeight;
+    private long weight;
+
+    private long hits, misses, evictions;
+
+    // store必须是空的，之后只能通过Cache访问
+    public Cache(Map<K, V> store, long maxWeight, ToLongBiFunction<K, V> weigher, EvictionPolicy<K> policy) {
+        if (!store.isEmpty())
+            throw new IllegalArgumentException("store must be empty");
+        if (maxWeight <= 0)
+            throw new IllegalArgumentException("maxWeight must be positive");
+
+        this.store = store;
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+        this.policy = policy;
+    }
+
+    public Cache(Map<K, V> store, long maxWeight, ToLongBiFunction<K, V> weigher, Policy policy) {
+        this(store, maxWeight, weigher, newPolicy(policy, maxWeight));
+    }
+
+    // 最多缓存maxSize个键值对
+    public Cache(Map<K, V> store, int maxSize, Policy policy) {
+        this(store, maxSize, (key, value) -> 1, policy);
+    }
+
+    public Cache(int maxSize, Policy policy) {
+        this(new HashTable<>(), maxSize, policy);
+    }
+
+    private static <K> EvictionPolicy<K> newPolicy(Policy policy, long maxWeight) {
+        switch (policy) {
+            case LRU:
+                return new LruPolicy<>();
+            case LFU:
+                return new LfuPolicy<>();
+            case W_TINY_LFU:
+                return new WTinyLfuPolicy<>(maxWeight);
+            default:
+                throw new IllegalArgumentException("Unknown policy " + policy);
+        }
+    }
+
+    @Override
+    public int getSize() {
+        return store.getSize();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return store.isEmpty();
+    }
+
+    public long getWeight() {
+        return weight;
+    }
+
+    public long getMaxWeight() {
+        return maxWeight;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public double getHitRatio() {
+        long requests = hits + misses;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+
+    private long weigh(K key, V value) {
+        long w = weigher.applyAsLong(key, value);
+        if (w < 0)
+            throw new IllegalArgumentException("weight can not be negative");
+        return w;
+    }
+
+    private void evictIfNeeded() {
+        while (weight > maxWeight) {
+            K key = policy.victim();
+            store.remove(key);
+            weight -= policy.onRemove(key);
+            evictions++;
+        }
+    }
+
+    // 只检查key是否在缓存中，不算一次访问
+    @Override
+    public boolean contains(K key) {
+        return store.contains(key);
+    }
+
+    @Override
+    public V get(K key) {
+        V value = store.get(key);
+        if (value == null)
+            misses++;
+        else {
+            hits++;
+            policy.onAccess(key);
+        }
+        return value;
+    }
+
+    // 新的key加入后可能立即超出上限，淘汰的也可能就是它自己(例如W-TinyLFU不接纳它)
+    @Override
+    public void add(K key, V value) {
+        if (value == null)
+            throw new IllegalArgumentException("value can not be null");
+
+        long w = weigh(key, value);
+        V old = store.get(key);
+        if (old == null) {
+            store.add(key, value);
+            policy.onInsert(key, w);
+            weight += w;
+        } else {
+            store.set(key, value);
+            weight += w - weigh(key, old);
+            policy.onUpdate(key, w);
+        }
+        evictIfNeeded();
+    }
+
+    @Override
+    public void merge(K key, V value, Merger<V> merger) {
+        V old = store.get(key);
+        add(key, old == null ? value : merger.merge(old, value));
+    }
+
+    // 命中时返回缓存的值，未命中时用mappingFunction加载并放入缓存
+    @Override
+    public V computeIfAbsent(K key, Function<K, V> mappingFunction) {
+        V value = get(key);
+        if (value == null) {
+            value = mappingFunction.apply(key);
+            add(key, value);
+        }
+        return value;
+    }
+
+    @Override
+    public void set(K key, V newValue) {
+        if (!store.contains(key))
+            throw new IllegalArgumentException(key + " doesn't exist!");
+        add(key, newValue);
+    }
+
+    @Override
+    public V remove(K key) {
+        V value = store.remove(key);
+        if (value != null)
+            weight -= policy.onRemove(key);
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Cache: size = %d, weight = %d / %d, hits = %d, misses = %d, evictions = %d, hit ratio = %.4f",
+                getSize(), weight, maxWeight, hits, misses, evictions, getHitRatio());
+    }
+
+    public static void main(String[] args) {
+
+        Random random = new Random();
+
+        // 与用java.util.LinkedHashMap实现的LRU对比每一次是否命中
+        int maxSize = 100;
+        Cache<Integer, Integer> lru = new Cache<>(new AVLMap<Integer, Integer>(), maxSize, Policy.LRU);
+        java.util.LinkedHashMap<Integer, Integer> expected = new java.util.LinkedHashMap<Integer, Integer>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(java.util.Map.Entry<Integer, Integer> eldest) {
+                return size() > maxSize;
+            }
+        };
+        for (int i = 0; i < 100000; i++) {
+            int key = random.nextInt(300);
+            if (lru.get(key) == null) {
+                if (expected.get(key) != null)
+                    throw new IllegalArgumentException("Error");
+                lru.add(key, i);
+                expected.put(key, i);
+            } else if (expected.get(key) == null)
+                throw new IllegalArgumentException("Error");
+        }
+        System.out.println(lru);
+
+        // 每种策略下随机增删改查，缓存中的值必须是最后写入的值，权重不超过上限
+        for (Policy policy : Policy.values()) {
+            Cache<Integer, String> cache = new Cache<>(new HashTable<>(), 1000, (key, value) -> value.length(), policy);
+            HashMap<Integer, String> written = new HashMap<>();
+            for (int i = 0; i < 200000; i++) {
+                int key = (int) (2000 * Math.pow(random.nextDouble(), 2));
+                int op = random.nextInt(10);
+                if (op < 6) {
+                    String value = cache.get(key);
+                    if (value != null && !value.equals(written.get(key)))
+                        throw new IllegalArgumentException("Error");
+                } else if (op < 9) {
+                    String value = "v" + i % (1 + random.nextInt(20));
+                    cache.add(key, value);
+                    written.put(key, value);
+                } else
+                    cache.remove(key);
+
+                if (cache.getWeight() > cache.getMaxWeight())
+                    throw new IllegalArgumentException("Error");
+            }
+
+            long weight = 0;
+            for (int key = 0; key < 2000; key++)
+                if (cache.contains(key))
+                    weight += written.get(key).length();
+            if (weight != cache.getWeight())
+                throw new IllegalArgumentException("Error");
+            System.out.println(policy + " " + cache);
+        }
+
+        // 被扫描污染的Zipf访问序列：热点服从Zipf分布，中间不时插入一长串只出现一次的key，
+        // W-TinyLFU应该挡住扫描，命中率高于LRU
+        Random seeded = new Random(42);
+        int keys = 10000;
+        double[] cdf = new double[keys];
+        double total = 0;
+        for (int i = 0; i < keys; i++) {
+            total += 1.0 / (i + 1);
+            cdf[i] = total;
+        }
+        int[] trace = new int[200000];
+        int scanKey = keys;
+        for (int i = 0; i < trace.length; ) {
+            if (seeded.nextInt(5000) == 0)
+                for (int j = 0; j < 1000 && i < trace.length; j++)
+                    trace[i++] = scanKey++;
+            else {
+                int index = Arrays.binarySearch(cdf, seeded.nextDouble() * total);
+                trace[i++] = index >= 0 ? index : -index - 1;
+            }
+        }
+        double[] hitRatios = new double[Policy.values().length];
+        for (Policy policy : Policy.values()) {
+            Cache<Integer, Integer> cache = new Cache<>(500, policy);
+            for (int key : trace)
+                if (cache.get(key) == null)
+                    cache.add(key, key);
+            hitRatios[policy.ordinal()] = cache.getHitRatio();
+            System.out.println(String.format("%s hit ratio on scan-polluted Zipf trace: %.4f", policy, cache.getHitRatio()));
+        }
+        if (hitRatios[Policy.W_TINY_LFU.ordinal()] <= hitRatios[Policy.LRU.ordinal()])
+            throw new IllegalArgumentException("Error");
+
+        System.out.println("Good Job!");
+    }
+}
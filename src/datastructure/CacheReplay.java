@@ -0,0 +1,84 @@
+package datastructure;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+
+// 回放访问序列，比较各种淘汰策略的命中率和吞吐量
+// 每次访问先get，未命中再把key放入缓存(模拟从慢速存储加载)
+// 用法：CacheReplay [trace文件] [容量...]
+// trace文件每行一次访问，取每行第一个空白之前的部分作为key；
+// 不给出trace文件时，用pride-and-prejudice.txt中的单词序列作为访问序列
+public class CacheReplay {
+
+    private static final int ROUNDS = 3;
+
+    private CacheReplay() {
+    }
+
+    // 读取trace文件，每行第一个空白之前的部分作为key，空行忽略
+    public static String[] readTrace(String filename) throws IOException {
+        ArrayList<String> keys = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(Paths.get(filename), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty())
+                    continue;
+                int end = 0;
+                while (end < line.length() && !Character.isWhitespace(line.charAt(end)))
+                    end++;
+                keys.add(line.substring(0, end));
+            }
+        }
+        return keys.toArray(new String[0]);
+    }
+
+    // 用一个新的缓存回放一遍trace，返回回放后的缓存
+    public static Cache<String, String> replay(String[] trace, int capacity, Cache.Policy policy) {
+        Cache<String, String> cache = new Cache<>(capacity, policy);
+        for (String key : trace)
+            if (cache.get(key) == null)
+                cache.add(key, key);
+        return cache;
+    }
+
+    public static void main(String[] args) throws IOException {
+
+        String[] trace;
+        if (args.length > 0)
+            trace = readTrace(args[0]);
+        else {
+            ArrayList<String> words = new ArrayList<>();
+            if (!FileOperation.readFile("pride-and-prejudice.txt", words))
+                return;
+            trace = words.toArray(new String[0]);
+        }
+
+        int[] capacities = {100, 1000, 5000};
+        if (args.length > 1) {
+            capacities = new int[args.length - 1];
+            for (int i = 1; i < args.length; i++)
+                capacities[i - 1] = Integer.parseInt(args[i]);
+        }
+
+        System.out.println("Trace: " + trace.length + " accesses");
+        System.out.println(String.format("%-12s %10s %10s %12s", "policy", "capacity", "hit ratio", "ops/s"));
+        for (int capacity : capacities)
+            for (Cache.Policy policy : Cache.Policy.values()) {
+                // 回放几遍，取最快的一遍作为吞吐量，命中率每遍都一样
+                Cache<String, String> cache = null;
+                long best = Long.MAX_VALUE;
+                for (int round = 0; round < ROUNDS; round++) {
+                    long startTime = System.nanoTime();
+                    cache = replay(trace, capacity, policy);
+                    best = Math.min(best, System.nanoTime() - startTime);
+                }
+                System.out.println(String.format("%-12s %10d %10.4f %12.0f",
+                        policy, capacity, cache.getHitRatio(), trace.length * 1e9 / best));
+            }
+    }
+}
@@ -0,0 +1,312 @@
+package datastructure;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+// 线程安全的哈希表，分段加锁(lock striping)，读操作不加锁
+// 桶数组是AtomicReferenceArray，链表节点的value和next都是volatile，
+// 写操作只锁住桶所在的那一段，读操作直接沿着链表无锁地查找，总能看到一个一致的链表
+// merge和computeIfAbsent在段锁内完成，可以直接用来做多线程计数
+public class ConcurrentHashTable<K, V> implements Map<K, V> {
+
+    private static final double MAX_LOAD_FACTOR = 0.75;
+    private static final int DEFAULT_CAPACITY = 64;
+    // 锁的段数，必须是2的幂，第i个桶由第i & (STRIPES - 1)把锁保护
+    private static final int STRIPES = 64;
+
+    private static class Node<K, V> {
+        final int hash;
+        final K key;
+        volatile V value;
+        volatile Node<K, V> next;
+
+        Node(int hash, K key, V value, Node<K, V> next) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+            this.next = next;
+        }
+    }
+
+    private volatile AtomicReferenceArray<Node<K, V>> table;
+    private ReentrantLock[] locks;
+    // 每一段中的元素个数，只在持有该段的锁时读写
+    private int[] counts;
+    private LongAdder size;
+    private volatile int resizes;
+
+    public ConcurrentHashTable(int capacity) {
+        capacity = Math.max(STRIPES, Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1);
+        table = new AtomicReferenceArray<>(capacity);
+        locks = new ReentrantLock[STRIPES];
+        for (int i = 0; i < STRIPES; i++)
+            locks[i] = new ReentrantLock();
+        counts = new int[STRIPES];
+        size = new LongAdder();
+    }
+
+    public ConcurrentHashTable() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    private static int hash(Object key) {
+        if (key == null)
+            throw new IllegalArgumentException("key can not be null");
+        int h = key.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    @Override
+    public int getSize() {
+        return size.intValue();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size.sum() == 0;
+    }
+
+    // 当前的桶数
+    public int getCapacity() {
+        return table.length();
+    }
+
+    // 累计扩容的次数
+    public int getResizes() {
+        return resizes;
+    }
+
+    // 在tab中查找key所在的节点，不加锁
+    private Node<K, V> getNode(AtomicReferenceArray<Node<K, V>> tab, int h, K key) {
+        for (Node<K, V> node = tab.get(h & (tab.length() - 1)); node != null; node = node.next)
+            if (node.hash == h && node.key.equals(key))
+                return node;
+        return null;
+    }
+
+    @Override
+    public boolean contains(K key) {
+        return getNode(table, hash(key), key) != null;
+    }
+
+    @Override
+    public V get(K key) {
+        Node<K, V> node = getNode(table, hash(key), key);
+        return node == null ? null : node.value;
+    }
+
+    // 锁住key所在的段并返回锁
+    // 桶数不小于段数且都是2的幂，同一个key在扩容前后总是落在同一段里；
+    // 扩容需要持有全部的段锁，所以持有段锁期间table不会被替换
+    private ReentrantLock lockFor(int h) {
+        ReentrantLock lock = locks[h & (STRIPES - 1)];
+        lock.lock();
+        return lock;
+    }
+
+    // 在已经持有段锁的前提下，在链表头部插入新节点
+    // 插入后段中元素过多时返回需要扩容的表，否则返回null
+    // 段中的元素个数只能在持有段锁时读，所以在这里决定是否扩容，扩容本身必须在释放段锁之后进行
+    private AtomicReferenceArray<Node<K, V>> insert(int h, K key, V value) {
+        AtomicReferenceArray<Node<K, V>> tab = table;
+        int i = h & (tab.length() - 1);
+        tab.set(i, new Node<>(h, key, value, tab.get(i)));
+        size.increment();
+        int count = ++counts[h & (STRIPES - 1)];
+        return count > tab.length() * MAX_LOAD_FACTOR / STRIPES ? tab : null;
+    }
+
+    @Override
+    public void add(K key, V value) {
+        int h = hash(key);
+        AtomicReferenceArray<Node<K, V>> full;
+        ReentrantLock lock = lockFor(h);
+        try {
+            Node<K, V> node = getNode(table, h, key);
+            if (node != null) {
+                node.value = value;
+                return;
+            }
+            full = insert(h, key, value);
+        } finally {
+            lock.unlock();
+        }
+        if (full != null)
+            resize(full);
+    }
+
+    @Override
+    public void set(K key, V newValue) {
+        int h = hash(key);
+        ReentrantLock lock = lockFor(h);
+        try {
+            Node<K, V> node = getNode(table, h, key);
+            if (node == null)
+                throw new IllegalArgumentException(key + " doesn't exist!");
+            node.value = newValue;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 原子地把key对应的值更新为merger.merge(旧值, value)，key不存在时添加(key, value)
+    @Override
+    public void merge(K key, V value, Merger<V> merger) {
+        int h = hash(key);
+        AtomicReferenceArray<Node<K, V>> full;
+        ReentrantLock lock = lockFor(h);
+        try {
+            Node<K, V> node = getNode(table, h, key);
+            if (node != null) {
+                node.value = merger.merge(node.value, value);
+                return;
+            }
+            full = insert(h, key, value);
+        } finally {
+            lock.unlock();
+        }
+        if (full != null)
+            resize(full);
+    }
+
+    // key已存在时不加锁直接返回，否则在段锁内计算并添加，mappingFunction对每个key最多执行一次
+    @Override
+    public V computeIfAbsent(K key, Function<K, V> mappingFunction) {
+        int h = hash(key);
+        Node<K, V> node = getNode(table, h, key);
+        if (node != null)
+            return node.value;
+
+        V value;
+        AtomicReferenceArray<Node<K, V>> full;
+        ReentrantLock lock = lockFor(h);
+        try {
+            node = getNode(table, h, key);
+            if (node != null)
+                return node.value;
+            value = mappingFunction.apply(key);
+            full = insert(h, key, value);
+        } finally {
+            lock.unlock();
+        }
+        if (full != null)
+            resize(full);
+        return value;
+    }
+
+    @Override
+    public V remove(K key) {
+        int h = hash(key);
+        ReentrantLock lock = lockFor(h);
+        try {
+            AtomicReferenceArray<Node<K, V>> tab = table;
+            int i = h & (tab.length() - 1);
+            Node<K, V> prev = null;
+            for (Node<K, V> node = tab.get(i); node != null; prev = node, node = node.next)
+                if (node.hash == h && node.key.equals(key)) {
+                    // 被删除节点的next保持不变，正在读它的线程仍然可以继续向后查找
+                    if (prev == null)
+                        tab.set(i, node.next);
+                    else
+                        prev.next = node.next;
+                    size.decrement();
+                    counts[h & (STRIPES - 1)]--;
+                    return node.value;
+                }
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 容量翻倍，需要持有全部的段锁
+    // 新表中的节点都是复制出来的，旧表保持不变，正在旧表上读的线程不受影响
+    private void resize(AtomicReferenceArray<Node<K, V>> expected) {
+        for (ReentrantLock lock : locks)
+            lock.lock();
+        try {
+            if (table != expected)
+                return;
+            AtomicReferenceArray<Node<K, V>> newTable = new AtomicReferenceArray<>(expected.length() * 2);
+            int mask = newTable.length() - 1;
+            int[] newCounts = new int[STRIPES];
+            for (int i = 0; i < expected.length(); i++)
+                for (Node<K, V> node = expected.get(i); node != null; node = node.next) {
+                    int j = node.hash & mask;
+                    newTable.set(j, new Node<>(node.hash, node.key, node.value, newTable.get(j)));
+                    newCounts[node.hash & (STRIPES - 1)]++;
+                }
+            counts = newCounts;
+            table = newTable;
+            resizes++;
+        } finally {
+            for (ReentrantLock lock : locks)
+                lock.unlock();
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int threads = 8;
+        int keys = 10000;
+        int rounds = 200;
+        ConcurrentHashTable<Integer, Integer> map = new ConcurrentHashTable<>();
+
+        // 每个线程对全部key各加rounds次1，同时不停地读，读到的计数不能变小
+        Thread[] workers = new Thread[threads];
+        RuntimeException[] failure = new RuntimeException[1];
+        for (int t = 0; t < threads; t++) {
+            int seed = t;
+            workers[t] = new Thread(() -> {
+                Random random = new Random(seed);
+                int[] seen = new int[keys];
+                for (int r = 0; r < rounds; r++)
+                    for (int k = 0; k < keys; k++) {
+                        map.merge(k, 1, (a, b) -> a + b);
+                        int probe = random.nextInt(keys);
+                        Integer count = map.get(probe);
+                        int c = count == null ? 0 : count;
+                        if (c < seen[probe])
+                            failure[0] = new RuntimeException("count went backwards");
+                        seen[probe] = c;
+                    }
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers)
+            worker.join();
+        if (failure[0] != null)
+            throw failure[0];
+
+        if (map.getSize() != keys)
+            throw new RuntimeException("Error");
+        for (int k = 0; k < keys; k++)
+            if (map.get(k) != threads * rounds)
+                throw new RuntimeException("Error");
+
+        // 多个线程同时删除不相交的key
+        for (int t = 0; t < threads; t++) {
+            int first = t;
+            workers[t] = new Thread(() -> {
+                for (int k = first; k < keys; k += threads)
+                    if (k % 2 == 0 && map.remove(k) == null)
+                        failure[0] = new RuntimeException("key " + k + " missing");
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers)
+            worker.join();
+        if (failure[0] != null)
+            throw failure[0];
+        if (map.getSize() != keys / 2)
+            throw new RuntimeException("Error");
+        for (int k = 0; k < keys; k++)
+            if (map.contains(k) != (k % 2 == 1))
+                throw new RuntimeException("Error");
+
+        System.out.println("capacity: " + map.getCapacity() + ", resizes: " + map.getResizes());
+        System.out.println("OK");
+    }
+}
@@ -0,0 +1,124 @@
+package datastructure;
+
+import java.util.Random;
+
+// Count-Min Sketch：用depth行、每行width个计数器近似统计流中每个元素出现的次数
+// 每个元素在每一行中映射到一个计数器，估计值取这些计数器中的最小值，
+// 估计值不会小于真实次数，以至少1 - delta的概率不会超过真实次数 + epsilon * 流的总长度
+// 占用的内存只与width * depth有关，与不同元素的个数无关
+public class CountMinSketch<E> {
+
+    private long[] table;
+    private int width, depth;
+    private int mask;
+    // 已经加入的元素总数
+    private long total;
+
+    // width会向上取整为2的幂
+    public CountMinSketch(int width, int depth) {
+        if (width <= 0 || depth <= 0)
+            throw new IllegalArgumentException("width and depth must be positive");
+        this.width = tableSizeFor(width);
+        this.depth = depth;
+        mask = this.width - 1;
+        table = new long[this.width * depth];
+        total = 0;
+    }
+
+    // 按误差epsilon和失败概率delta确定大小：width = e / epsilon，depth = ln(1 / delta)
+    public CountMinSketch(double epsilon, double delta) {
+        this((int) Math.ceil(Math.E / epsilon), (int) Math.ceil(Math.log(1 / delta)));
+    }
+
+    // 返回不小于n的最小的2的幂
+    private static int tableSizeFor(int n) {
+        int capacity = n <= 1 ? 1 : Integer.highestOneBit(n - 1) << 1;
+        if (capacity <= 0)
+            throw new IllegalArgumentException("width is too large");
+        return capacity;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    // 与HashTable相同的扰动，第二个哈希值由第一个再扰动一次得到，必须是奇数
+    private static int hash1(Object item) {
+        int h = item.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static int hash2(int h1) {
+        int h = h1 * 0x85EBCA6B;
+        return (h ^ (h >>> 13)) | 1;
+    }
+
+    // 加入一个元素，返回加入后它的估计次数
+    // 采用保守更新：只把小于新估计值的计数器抬高到新估计值，而不是每行都加1，
+    // 估计值仍然不小于真实次数，但高估的程度小得多
+    public long add(E item) {
+        int h1 = hash1(item), h2 = hash2(h1);
+        long estimate = Long.MAX_VALUE;
+        for (int i = 0, h = h1; i < depth; i++, h += h2)
+            estimate = Math.min(estimate, table[i * width + (h & mask)]);
+
+        estimate++;
+        for (int i = 0, h = h1; i < depth; i++, h += h2) {
+            int j = i * width + (h & mask);
+            if (table[j] < estimate)
+                table[j] = estimate;
+        }
+        total++;
+        return estimate;
+    }
+
+    // 返回元素item的估计次数
+    public long estimate(E item) {
+        int h1 = hash1(item), h2 = hash2(h1);
+        long estimate = Long.MAX_VALUE;
+        for (int i = 0, h = h1; i < depth; i++, h += h2)
+            estimate = Math.min(estimate, table[i * width + (h & mask)]);
+        return estimate;
+    }
+
+    // 所有计数器减半，用于老化：定期调用后，很久以前的高频元素的估计值会逐渐降下来
+    public void halve() {
+        for (int i = 0; i < table.length; i++)
+            table[i] >>>= 1;
+        total >>>= 1;
+    }
+
+    public static void main(String[] args) {
+        int n = 1000000;
+        Random random = new Random();
+        CountMinSketch<Integer> sketch = new CountMinSketch<>(0.001, 0.01);
+        int[] count = new int[10000];
+        for (int i = 0; i < n; i++) {
+            // 偏斜的分布：小的数出现得多
+            int item = (int) (count.length * Math.pow(random.nextDouble(), 3));
+            count[item]++;
+            if (sketch.add(item) < count[item])
+                throw new IllegalArgumentException("Error");
+        }
+
+        int exceeded = 0;
+        for (int item = 0; item < count.length; item++) {
+            long estimate = sketch.estimate(item);
+            if (estimate < count[item])
+                throw new IllegalArgumentException("Error");
+            if (estimate > count[item] + 0.001 * n)
+                exceeded++;
+        }
+        System.out.println("width = " + sketch.getWidth() + ", depth = " + sketch.getDepth()
+                + ", estimates beyond the error bound: " + exceeded + " / " + count.length);
+        System.out.println("Good Job!");
+    }
+}
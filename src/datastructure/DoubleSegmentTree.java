@@ -0,0 +1,163 @@
+package datastructure;
+
+import java.util.Random;
+
+// double元素的线段树，2n数组上的自底向上迭代实现，与LongSegmentTree相同
+// 求和时浮点加法的顺序与逐个累加不同，结果可能有舍入误差；最小值、最大值遇到NaN时结果为NaN(与Math.min、Math.max一致)
+public class DoubleSegmentTree {
+
+    private double[] tree;
+    private int n;
+    private SegmentTreeMode mode;
+
+    public DoubleSegmentTree(double[] arr, SegmentTreeMode mode) {
+        if (arr.length == 0)
+            throw new IllegalArgumentException("arr can not be empty.");
+
+        n = arr.length;
+        this.mode = mode;
+        tree = new double[2 * n];
+        System.arraycopy(arr, 0, tree, n, n);
+        for (int i = n - 1; i >= 1; i--)
+            tree[i] = merge(tree[2 * i], tree[2 * i + 1]);
+    }
+
+    public int getSize() {
+        return n;
+    }
+
+    public SegmentTreeMode getMode() {
+        return mode;
+    }
+
+    private double merge(double a, double b) {
+        switch (mode) {
+            case SUM:
+                return a + b;
+            case MIN:
+                return Math.min(a, b);
+            default:
+                return Math.max(a, b);
+        }
+    }
+
+    //按下标取值
+    public double get(int index) {
+        if (index < 0 || index >= n)
+            throw new IllegalArgumentException("Illegal Index");
+        return tree[n + index];
+    }
+
+    //更新index位置的值为e
+    public void set(int index, double e) {
+        if (index < 0 || index >= n)
+            throw new IllegalArgumentException("Index is illegal");
+
+        int i = n + index;
+        tree[i] = e;
+        for (i >>= 1; i >= 1; i >>= 1)
+            tree[i] = merge(tree[2 * i], tree[2 * i + 1]);
+    }
+
+    //index位置的值加上delta
+    public void add(int index, double delta) {
+        set(index, get(index) + delta);
+    }
+
+    //查询[queryL...queryR]区间的值
+    public double query(int queryL, int queryR) {
+        if (queryL < 0 || queryL >= n || queryR < 0 || queryR >= n || queryL > queryR)
+            throw new IllegalArgumentException("Index is illegal.");
+
+        switch (mode) {
+            case SUM:
+                return querySum(queryL + n, queryR + n + 1);
+            case MIN:
+                return queryMin(queryL + n, queryR + n + 1);
+            default:
+                return queryMax(queryL + n, queryR + n + 1);
+        }
+    }
+
+    // 以下三个查询的区间都是叶子下标的左闭右开区间[l, r)
+    private double querySum(int l, int r) {
+        double[] tree = this.tree;
+        double res = 0;
+        for (; l < r; l >>= 1, r >>= 1) {
+            if ((l & 1) == 1)
+                res += tree[l++];
+            if ((r & 1) == 1)
+                res += tree[--r];
+        }
+        return res;
+    }
+
+    private double queryMin(int l, int r) {
+        double[] tree = this.tree;
+        double res = Double.POSITIVE_INFINITY;
+        for (; l < r; l >>= 1, r >>= 1) {
+            if ((l & 1) == 1)
+                res = Math.min(res, tree[l++]);
+            if ((r & 1) == 1)
+                res = Math.min(res, tree[--r]);
+        }
+        return res;
+    }
+
+    private double queryMax(int l, int r) {
+        double[] tree = this.tree;
+        double res = Double.NEGATIVE_INFINITY;
+        for (; l < r; l >>= 1, r >>= 1) {
+            if ((l & 1) == 1)
+                res = Math.max(res, tree[l++]);
+            if ((r & 1) == 1)
+                res = Math.max(res, tree[--r]);
+        }
+        return res;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder res = new StringBuilder();
+        res.append(mode).append(" [");
+        for (int i = 0; i < n; i++) {
+            res.append(tree[n + i]);
+            if (i != n - 1)
+                res.append(", ");
+        }
+        res.append("]");
+        return res.toString();
+    }
+
+    //测试函数
+    public static void main(String[] args) {
+        double[] nums = {-2, 0.5, 3, -5, 2.25, -1};
+        DoubleSegmentTree segTree = new DoubleSegmentTree(nums, SegmentTreeMode.SUM);
+        System.out.println(segTree);
+        System.out.println(segTree.query(2, 5));
+
+        // 每种融合方式、各种大小(包括不是2的幂的)下与暴力做法对比，求和允许舍入误差
+        Random random = new Random();
+        for (SegmentTreeMode mode : SegmentTreeMode.values())
+            for (int n = 1; n <= 100; n++) {
+                double[] arr = new double[n];
+                for (int i = 0; i < n; i++)
+                    arr[i] = random.nextDouble() * 2000 - 1000;
+                DoubleSegmentTree tree = new DoubleSegmentTree(arr, mode);
+                for (int k = 0; k < 1000; k++) {
+                    int l = random.nextInt(n), r = l + random.nextInt(n - l);
+                    if (random.nextBoolean()) {
+                        arr[l] = random.nextDouble() * 2000 - 1000;
+                        tree.set(l, arr[l]);
+                    }
+                    double expected = arr[l];
+                    for (int i = l + 1; i <= r; i++)
+                        expected = mode == SegmentTreeMode.SUM ? expected + arr[i]
+                                : mode == SegmentTreeMode.MIN ? Math.min(expected, arr[i]) : Math.max(expected, arr[i]);
+                    if (Math.abs(tree.query(l, r) - expected) > 1e-6)
+                        throw new IllegalArgumentException("Error");
+                }
+            }
+        System.out.println("Good Job!");
+    }
+}
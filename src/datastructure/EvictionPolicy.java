@@ -0,0 +1,22 @@
+package datastructure;
+
+// Cache的淘汰策略：只记录key和它的权重，决定空间不够时淘汰哪一个key，不保存value
+// Cache保证onAccess、onUpdate、onRemove只对已经onInsert且还没有被删除的key调用
+public interface EvictionPolicy<K> {
+
+    // 新的key进入缓存
+    void onInsert(K key, long weight);
+
+    // 命中了已经在缓存中的key
+    void onAccess(K key);
+
+    // 已经在缓存中的key被写入了新的值，权重变为weight，同时也算一次访问
+    void onUpdate(K key, long weight);
+
+    // key被删除(主动删除或者被淘汰)，返回它的权重
+    long onRemove(K key);
+
+    // 缓存超出上限时选出下一个要淘汰的key，Cache随后对它调用onRemove
+    // 策略可以在这里调整自己内部的结构(例如W-TinyLFU让胜出的候选者进入主区)，但不能删除任何key
+    K victim();
+}
@@ -0,0 +1,46 @@
+package datastructure;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+
+// 文件相关操作
+public class FileOperation {
+
+    // 读取文件名称为filename中的内容，并将其中包含的所有词语放进words中
+    // 分词由WordTokenizer完成，只需要全部单词的列表时使用，
+    // 处理大文件时请直接用WordTokenizer.forEach，避免把所有单词都放进内存
+    public static boolean readFile(String filename, ArrayList<String> words){
+
+        if (filename == null || words == null){
+            System.out.println("filename is null or words is null");
+            return false;
+        }
+
+        File file = new File(filename);
+        if(!file.exists())
+            throw  new IllegalArgumentException("No File Found");
+
+        // 简单分词
+        // 这个分词方式相对简陋, 没有考虑很多文本处理中的特殊问题
+        // 在这里只做demo展示用
+        try {
+            new WordTokenizer(filename).forEach(word -> words.add(word.toString()));
+        }
+        catch(IOException ioe){
+            System.out.println("Cannot open " + filename);
+            return false;
+        }
+
+        return true;
+    }
+
+    // 统计文件filename中每个单词出现的次数
+    // 单词先经过WordInterner驻留，整个过程中只有第一次出现的单词会分配内存
+    public static ObjectIntHashMap<String> countWords(String filename) throws IOException {
+        WordInterner interner = new WordInterner();
+        ObjectIntHashMap<String> counter = new ObjectIntHashMap<>();
+        new WordTokenizer(filename).forEach(word -> counter.increment(interner.intern(word)));
+        return counter;
+    }
+}
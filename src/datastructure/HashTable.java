@@ -0,0 +1,389 @@
+package datastructure;
+
+import java.util.ArrayList;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+// 开放寻址(线性探测)哈希表
+// key和value分别存放在两个平行的数组中，查找时只需顺序扫描相邻的槽位，
+// 不再像每个桶一个TreeMap那样每次查找都要在红黑树上做指针跳转
+//
+// 容量根据负载因子自动扩容和缩容，并且和Redis的dict一样采用渐进式rehash：
+// 扩缩容时新开一张表，之后每次操作只把旧表中的少量槽位搬到新表，
+// 这样任何一次add都不会因为一次性搬迁整张表而出现延迟尖刺
+public class HashTable<K, V> implements Map<K, V> {
+
+    // 负载因子上限，达到后容量翻倍
+    private static final double MAX_LOAD_FACTOR = 0.5;
+    // 负载因子下限，低于后缩容
+    private static final double MIN_LOAD_FACTOR = 0.125;
+    private static final int DEFAULT_CAPACITY = 16;
+    // 每次操作从旧表搬迁的槽位数
+    private static final int REHASH_STEPS = 4;
+
+    // rehash期间旧表中被删除元素的标记
+    // 旧表在rehash期间不会再插入新元素，所以用墓碑标记不会堆积，旧表搬完即丢弃
+    private static final Object TOMBSTONE = new Object();
+
+    private K[] keys;
+    private V[] values;
+    private int mask;
+    private int size;
+    private int initCapacity;
+
+    // rehash期间的旧表，oldKeys == null表示当前没有在rehash
+    private K[] oldKeys;
+    private V[] oldValues;
+    private int oldMask;
+    // 旧表从rehashStart这个空槽位开始顺序搬迁，已经搬迁了rehashIndex个槽位
+    private int rehashStart;
+    private int rehashIndex;
+    private long rehashSteps;
+
+    @SuppressWarnings("unchecked")
+    public HashTable(int M) {
+        initCapacity = tableSizeFor(Math.max(M, 2));
+        keys = (K[]) new Object[initCapacity];
+        values = (V[]) new Object[initCapacity];
+        mask = initCapacity - 1;
+        size = 0;
+    }
+
+    public HashTable() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    // 返回不小于n的最小的2的幂
+    private static int tableSizeFor(int n) {
+        int capacity = Integer.highestOneBit(n - 1) << 1;
+        if (capacity <= 0)
+            throw new IllegalArgumentException("capacity is too large");
+        return capacity;
+    }
+
+    // 将hashCode的高位扰动到低位，因为容量是2的幂，取槽位时只用到了低位
+    private int hash(K key, int mask) {
+        int h = key.hashCode() * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    // 返回key在当前表中所在的槽位，若不存在则返回探测路径上遇到的第一个空槽位
+    private int slotOf(K key) {
+        int i = hash(key, mask);
+        while (keys[i] != null && !keys[i].equals(key))
+            i = (i + 1) & mask;
+        return i;
+    }
+
+    // 返回key在旧表中所在的槽位，若不存在则返回-1
+    // 已经搬迁过的槽位都被清空了，如果key的起始槽位落在已搬迁的区间里，
+    // 它在旧表中只可能位于还没搬迁的部分，直接从搬迁游标处开始探测
+    private int oldSlotOf(K key) {
+        int i = hash(key, oldMask);
+        if (((i - rehashStart) & oldMask) < rehashIndex)
+            i = (rehashStart + rehashIndex) & oldMask;
+        while (oldKeys[i] != null) {
+            if (oldKeys[i] != TOMBSTONE && oldKeys[i].equals(key))
+                return i;
+            i = (i + 1) & oldMask;
+        }
+        return -1;
+    }
+
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // 返回当前的容量，rehash期间返回新表的容量
+    public int getCapacity() {
+        return keys.length;
+    }
+
+    // 当前是否正在进行渐进式rehash
+    public boolean isRehashing() {
+        return oldKeys != null;
+    }
+
+    // 返回累计从旧表搬迁过的槽位数
+    public long getRehashSteps() {
+        return rehashSteps;
+    }
+
+    // 添加(key, value)，若key已存在则覆盖原来的值
+    @Override
+    public void add(K key, V value) {
+        rehashStep();
+        int i = slotOf(key);
+        if (keys[i] != null) {
+            values[i] = value;
+            return;
+        }
+        if (oldKeys != null) {
+            int j = oldSlotOf(key);
+            if (j >= 0) {
+                oldValues[j] = value;
+                return;
+            }
+        }
+        insertAt(i, key, value);
+    }
+
+    @Override
+    public void merge(K key, V value, Merger<V> merger) {
+        rehashStep();
+        int i = slotOf(key);
+        if (keys[i] != null) {
+            values[i] = merger.merge(values[i], value);
+            return;
+        }
+        if (oldKeys != null) {
+            int j = oldSlotOf(key);
+            if (j >= 0) {
+                oldValues[j] = merger.merge(oldValues[j], value);
+                return;
+            }
+        }
+        insertAt(i, key, value);
+    }
+
+    @Override
+    public V computeIfAbsent(K key, Function<K, V> mappingFunction) {
+        rehashStep();
+        int i = slotOf(key);
+        if (keys[i] != null)
+            return values[i];
+        if (oldKeys != null) {
+            int j = oldSlotOf(key);
+            if (j >= 0)
+                return oldValues[j];
+        }
+        V value = mappingFunction.apply(key);
+        insertAt(i, key, value);
+        return value;
+    }
+
+    // 在当前表的空槽位i上插入(key, value)，必要时开始扩容
+    private void insertAt(int i, K key, V value) {
+        keys[i] = key;
+        values[i] = value;
+        size++;
+
+        if (size >= keys.length * MAX_LOAD_FACTOR) {
+            // 上一轮rehash还没结束新表就已经满了，先一次性搬完再开始新的一轮
+            if (oldKeys != null)
+                finishRehash();
+            startRehash(keys.length * 2);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V remove(K key) {
+        rehashStep();
+        V ret;
+        int i = slotOf(key);
+        if (keys[i] != null) {
+            ret = values[i];
+            deleteSlot(i);
+        } else {
+            int j = oldKeys == null ? -1 : oldSlotOf(key);
+            if (j < 0)
+                return null;
+            ret = oldValues[j];
+            oldKeys[j] = (K) TOMBSTONE;
+            oldValues[j] = null;
+        }
+        size--;
+
+        if (oldKeys == null && keys.length > initCapacity && size < keys.length * MIN_LOAD_FACTOR)
+            startRehash(Math.max(initCapacity, tableSizeFor(Math.max(size * 4, 2))));
+        return ret;
+    }
+
+    // 删除当前表中槽位i上的元素
+    // 线性探测不能直接置空，否则会截断后面元素的探测路径，
+    // 这里把后面同一簇中可以前移的元素依次搬到空出来的位置上(backward shift)，不需要墓碑标记
+    private void deleteSlot(int i) {
+        int j = i;
+        while (true) {
+            j = (j + 1) & mask;
+            if (keys[j] == null)
+                break;
+            int home = hash(keys[j], mask);
+            // home不在(i, j]这个循环区间里，说明j上的元素可以搬到i
+            if (((j - home) & mask) >= ((j - i) & mask)) {
+                keys[i] = keys[j];
+                values[i] = values[j];
+                i = j;
+            }
+        }
+        keys[i] = null;
+        values[i] = null;
+    }
+
+    @Override
+    public void set(K key, V value) {
+        rehashStep();
+        int i = slotOf(key);
+        if (keys[i] != null) {
+            values[i] = value;
+            return;
+        }
+        int j = oldKeys == null ? -1 : oldSlotOf(key);
+        if (j < 0)
+            throw new IllegalArgumentException(key + " doesn't exist!");
+        oldValues[j] = value;
+    }
+
+    @Override
+    public boolean contains(K key) {
+        rehashStep();
+        if (keys[slotOf(key)] != null)
+            return true;
+        return oldKeys != null && oldSlotOf(key) >= 0;
+    }
+
+    @Override
+    public V get(K key) {
+        rehashStep();
+        int i = slotOf(key);
+        if (keys[i] != null)
+            return values[i];
+        int j = oldKeys == null ? -1 : oldSlotOf(key);
+        return j < 0 ? null : oldValues[j];
+    }
+
+    // 依次访问表中的每一个(key, value)，顺序不确定
+    public void forEach(BiConsumer<K, V> action) {
+        for (int i = 0; i < keys.length; i++)
+            if (keys[i] != null)
+                action.accept(keys[i], values[i]);
+        if (oldKeys != null)
+            for (int i = 0; i < oldKeys.length; i++)
+                if (oldKeys[i] != null && oldKeys[i] != TOMBSTONE)
+                    action.accept(oldKeys[i], oldValues[i]);
+    }
+
+    // 开始一轮渐进式rehash，当前表变为旧表，新开一张容量为newCapacity的表
+    @SuppressWarnings("unchecked")
+    private void startRehash(int newCapacity) {
+        oldKeys = keys;
+        oldValues = values;
+        oldMask = mask;
+        keys = (K[]) new Object[newCapacity];
+        values = (V[]) new Object[newCapacity];
+        mask = newCapacity - 1;
+
+        // 从一个空槽位开始搬迁，保证没有哪一簇元素被拦腰截断后还要从旧表的开头绕回来
+        rehashStart = 0;
+        while (oldKeys[rehashStart] != null)
+            rehashStart++;
+        rehashIndex = 0;
+    }
+
+    // 从旧表中搬迁REHASH_STEPS个槽位到新表
+    private void rehashStep() {
+        if (oldKeys == null)
+            return;
+        for (int n = 0; n < REHASH_STEPS && oldKeys != null; n++)
+            migrateSlot();
+    }
+
+    // 把旧表剩下的槽位全部搬到新表
+    private void finishRehash() {
+        while (oldKeys != null)
+            migrateSlot();
+    }
+
+    // 搬迁游标处的一个槽位，旧表搬完后将其丢弃
+    private void migrateSlot() {
+        int i = (rehashStart + rehashIndex) & oldMask;
+        K key = oldKeys[i];
+        if (key != null && key != TOMBSTONE) {
+            int j = slotOf(key);
+            keys[j] = key;
+            values[j] = oldValues[i];
+        }
+        oldKeys[i] = null;
+        oldValues[i] = null;
+        rehashIndex++;
+        rehashSteps++;
+
+        if (rehashIndex == oldKeys.length) {
+            oldKeys = null;
+            oldValues = null;
+        }
+    }
+
+    public static void main(String[] args) {
+
+        System.out.println("Pride and Prejudice");
+
+        ArrayList<String> words = new ArrayList<>();
+        if (FileOperation.readFile("pride-and-prejudice.txt", words)) {
+            System.out.println("Total words: " + words.size());
+
+            HashTable<String, Integer> map = new HashTable<>();
+            BSTMap<String, Integer> bst = new BSTMap<>();
+            for (String word : words) {
+                if (map.contains(word))
+                    map.set(word, map.get(word) + 1);
+                else
+                    map.add(word, 1);
+                if (bst.contains(word))
+                    bst.set(word, bst.get(word) + 1);
+                else
+                    bst.add(word, 1);
+            }
+
+            System.out.println("Total different words: " + map.getSize());
+            System.out.println("Frequency of PRIDE: " + map.get("pride"));
+            System.out.println("Frequency of PREJUDICE: " + map.get("prejudice"));
+
+            if (map.getSize() != bst.getSize())
+                throw new RuntimeException("Error");
+            for (String word : words) {
+                if (!map.get(word).equals(bst.get(word)))
+                    throw new RuntimeException("Error");
+            }
+            // 删除一半的单词后检查剩下的单词是否都还能找到
+            for (int i = 0; i < words.size(); i += 2) {
+                map.remove(words.get(i));
+                bst.remove(words.get(i));
+            }
+            if (map.getSize() != bst.getSize())
+                throw new RuntimeException("Error");
+            for (String word : words) {
+                if (map.contains(word) != bst.contains(word))
+                    throw new RuntimeException("Error");
+            }
+        }
+
+        // 大量插入删除，检查渐进式扩容和缩容
+        int n = 1000000;
+        HashTable<Integer, Integer> table = new HashTable<>();
+        for (int i = 0; i < n; i++)
+            table.add(i, i);
+        System.out.println("capacity: " + table.getCapacity() + ", rehash steps: " + table.getRehashSteps());
+        for (int i = 0; i < n; i++)
+            if (table.get(i) != i)
+                throw new RuntimeException("Error");
+        for (int i = 0; i < n; i += 3)
+            table.remove(i);
+        for (int i = 0; i < n; i++)
+            if (table.contains(i) != (i % 3 != 0))
+                throw new RuntimeException("Error");
+        for (int i = 0; i < n; i++)
+            table.remove(i);
+        if (!table.isEmpty())
+            throw new RuntimeException("Error");
+        System.out.println("capacity: " + table.getCapacity() + ", rehash steps: " + table.getRehashSteps());
+        System.out.println("OK");
+    }
+}
@@ -0,0 +1,254 @@
+package datastructure;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+// 索引堆：每个元素有一个由使用者指定的索引(0到capacity - 1)，堆中只移动索引，元素本身不动
+// reverse记录每个索引在堆中的位置，所以可以在O(log n)时间内修改或删除任意一个索引对应的元素，
+// 在O(1)时间内判断一个索引是否在堆中
+// 与MaxHeap一样是4叉堆，上浮和下沉时移动空位而不是交换
+public class IndexMaxHeap<E> {
+
+    // 4叉堆，求父亲和孩子的下标时用移位
+    private static final int SHIFT = 2;
+    private static final int ARITY = 1 << SHIFT;
+
+    // data[i]是索引i对应的元素
+    private Object[] data;
+    // indexes[k]是堆中位置k上的索引，reverse[i]是索引i在堆中的位置，i不在堆中时为-1
+    private int[] indexes;
+    private int[] reverse;
+    private int size;
+    private Comparator<? super E> comparator;
+
+    public IndexMaxHeap(int capacity, Comparator<? super E> comparator) {
+        data = new Object[capacity];
+        indexes = new int[capacity];
+        reverse = new int[capacity];
+        Arrays.fill(reverse, -1);
+        size = 0;
+        this.comparator = comparator == null ? naturalOrder() : comparator;
+    }
+
+    public IndexMaxHeap(int capacity) {
+        this(capacity, null);
+    }
+
+    // 元素必须实现Comparable，否则在第一次比较时抛出ClassCastException
+    @SuppressWarnings("unchecked")
+    private static <E> Comparator<E> naturalOrder() {
+        return (a, b) -> ((Comparable<? super E>) a).compareTo(b);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int getCapacity() {
+        return data.length;
+    }
+
+    // 索引index是否在堆中
+    public boolean contains(int index) {
+        checkIndex(index);
+        return reverse[index] != -1;
+    }
+
+    // 返回索引index对应的元素
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        checkContains(index);
+        return (E) data[index];
+    }
+
+    @SuppressWarnings("unchecked")
+    private E elementAt(int k) {
+        return (E) data[indexes[k]];
+    }
+
+    //向堆中添加索引为index的元素e
+    public void add(int index, E e) {
+        checkIndex(index);
+        if (reverse[index] != -1)
+            throw new IllegalArgumentException("Index " + index + " is already in the heap.");
+
+        data[index] = e;
+        siftUp(size++, index);
+    }
+
+    //看堆中最大的元素
+    public E findMax() {
+        if (size == 0)
+            throw new IllegalArgumentException("empty heap");
+        return elementAt(0);
+    }
+
+    //看堆中最大的元素的索引
+    public int findMaxIndex() {
+        if (size == 0)
+            throw new IllegalArgumentException("empty heap");
+        return indexes[0];
+    }
+
+    //取出堆中的最大元素
+    public E extractMax() {
+        E ret = findMax();
+        removeAt(0);
+        return ret;
+    }
+
+    //取出堆中的最大元素，返回它的索引
+    public int extractMaxIndex() {
+        int ret = findMaxIndex();
+        removeAt(0);
+        return ret;
+    }
+
+    // 把索引index对应的元素修改为newValue，元素变大时上浮，变小时下沉
+    public void change(int index, E newValue) {
+        checkContains(index);
+        data[index] = newValue;
+        int k = reverse[index];
+        if (k > 0 && comparator.compare(newValue, elementAt((k - 1) >>> SHIFT)) > 0)
+            siftUp(k, index);
+        else
+            siftDown(k, index);
+    }
+
+    // 从堆中删除索引index，返回它对应的元素
+    @SuppressWarnings("unchecked")
+    public E remove(int index) {
+        checkContains(index);
+        E ret = (E) data[index];
+        removeAt(reverse[index]);
+        return ret;
+    }
+
+    // 删除堆中位置k上的索引，用最后一个索引填补空位，它可能需要上浮也可能需要下沉
+    private void removeAt(int k) {
+        int index = indexes[k];
+        reverse[index] = -1;
+        data[index] = null;
+        size--;
+        if (k == size)
+            return;
+
+        int last = indexes[size];
+        if (k > 0 && comparator.compare(elementAt(size), elementAt((k - 1) >>> SHIFT)) > 0)
+            siftUp(k, last);
+        else
+            siftDown(k, last);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= data.length)
+            throw new IllegalArgumentException("Index is illegal.");
+    }
+
+    private void checkContains(int index) {
+        if (!contains(index))
+            throw new IllegalArgumentException("Index " + index + " is not in the heap.");
+    }
+
+    // 把索引index放到空位k上
+    private void place(int k, int index) {
+        indexes[k] = index;
+        reverse[index] = k;
+    }
+
+    //把索引index放到空位k上并上浮：元素比它小的祖先依次下移一层
+    @SuppressWarnings("unchecked")
+    private void siftUp(int k, int index) {
+        E e = (E) data[index];
+        while (k > 0) {
+            int p = (k - 1) >>> SHIFT;
+            if (comparator.compare(elementAt(p), e) >= 0)
+                break;
+            place(k, indexes[p]);
+            k = p;
+        }
+        place(k, index);
+    }
+
+    //把索引index放到空位k上并下沉：最大的孩子比它大时把孩子上移一层
+    @SuppressWarnings("unchecked")
+    private void siftDown(int k, int index) {
+        E e = (E) data[index];
+        int c;
+        while ((c = (k << SHIFT) + 1) < size) {
+            int end = Math.min(c + ARITY, size);
+            int best = c;
+            for (int j = c + 1; j < end; j++)
+                if (comparator.compare(elementAt(j), elementAt(best)) > 0)
+                    best = j;
+            if (comparator.compare(e, elementAt(best)) >= 0)
+                break;
+            place(k, indexes[best]);
+            k = best;
+        }
+        place(k, index);
+    }
+
+    // 检查每个元素都不小于它的孩子，以及indexes与reverse互逆
+    public boolean isHeap() {
+        for (int k = 0; k < size; k++) {
+            if (reverse[indexes[k]] != k)
+                return false;
+            if (k > 0 && comparator.compare(elementAt((k - 1) >>> SHIFT), elementAt(k)) < 0)
+                return false;
+        }
+        int count = 0;
+        for (int r : reverse)
+            if (r != -1)
+                count++;
+        return count == size;
+    }
+
+
+    public static void main(String[] args) {
+        int n = 100000;
+        Random random = new Random();
+        IndexMaxHeap<Integer> heap = new IndexMaxHeap<>(n);
+        Integer[] expected = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            expected[i] = random.nextInt(n);
+            heap.add(i, expected[i]);
+        }
+
+        // 随机修改、删除和重新加入，与普通数组对比
+        for (int op = 0; op < n; op++) {
+            int i = random.nextInt(n);
+            if (expected[i] == null) {
+                expected[i] = random.nextInt(n);
+                heap.add(i, expected[i]);
+            } else if (random.nextInt(3) == 0) {
+                if (!heap.remove(i).equals(expected[i]))
+                    throw new IllegalArgumentException("Error");
+                expected[i] = null;
+            } else {
+                expected[i] = random.nextInt(n);
+                heap.change(i, expected[i]);
+            }
+        }
+        if (!heap.isHeap())
+            throw new IllegalArgumentException("Error");
+        for (int i = 0; i < n; i++)
+            if (heap.contains(i) != (expected[i] != null))
+                throw new IllegalArgumentException("Error");
+
+        int prev = Integer.MAX_VALUE;
+        while (!heap.isEmpty()) {
+            int i = heap.findMaxIndex();
+            int e = heap.extractMax();
+            if (e > prev || e != expected[i])
+                throw new IllegalArgumentException("Error");
+            prev = e;
+        }
+        System.out.println("Good Job!");
+    }
+}
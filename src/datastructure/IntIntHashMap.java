@@ -0,0 +1,208 @@
+package datastructure;
+
+import java.util.Random;
+
+// key和value都是int的开放寻址哈希表
+// key和value直接存放在两个int数组中，不需要装箱，addTo/increment计数时不会分配任何对象
+// 0用来表示空槽位，所以key为0的元素单独存放
+public class IntIntHashMap {
+
+    private static final double MAX_LOAD_FACTOR = 0.5;
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+
+    private boolean hasZeroKey;
+    private int zeroValue;
+
+    public IntIntHashMap(int capacity) {
+        capacity = tableSizeFor(Math.max(capacity, 2));
+        keys = new int[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        size = 0;
+    }
+
+    public IntIntHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    // 返回不小于n的最小的2的幂
+    private static int tableSizeFor(int n) {
+        int capacity = Integer.highestOneBit(n - 1) << 1;
+        if (capacity <= 0)
+            throw new IllegalArgumentException("capacity is too large");
+        return capacity;
+    }
+
+    private int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    // 返回key所在的槽位，若不存在则返回探测路径上遇到的第一个空槽位
+    private int slotOf(int key) {
+        int i = hash(key);
+        while (keys[i] != 0 && keys[i] != key)
+            i = (i + 1) & mask;
+        return i;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(int key) {
+        if (key == 0)
+            return hasZeroKey;
+        return keys[slotOf(key)] != 0;
+    }
+
+    // 返回key对应的值，key不存在时返回0
+    public int get(int key) {
+        if (key == 0)
+            return zeroValue;
+        return values[slotOf(key)];
+    }
+
+    // 添加(key, value)，若key已存在则覆盖原来的值
+    public void add(int key, int value) {
+        if (key == 0) {
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            zeroValue = value;
+            return;
+        }
+        int i = slotOf(key);
+        if (keys[i] != 0) {
+            values[i] = value;
+            return;
+        }
+        insertAt(i, key, value);
+    }
+
+    public void set(int key, int value) {
+        if (!contains(key))
+            throw new IllegalArgumentException(key + " doesn't exist!");
+        add(key, value);
+    }
+
+    // 把key对应的值加上delta，key不存在时视为0，返回相加后的值
+    public int addTo(int key, int delta) {
+        if (key == 0) {
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            return zeroValue += delta;
+        }
+        int i = slotOf(key);
+        if (keys[i] != 0)
+            return values[i] += delta;
+        insertAt(i, key, delta);
+        return delta;
+    }
+
+    public int increment(int key) {
+        return addTo(key, 1);
+    }
+
+    // 删除key，返回被删除的值，key不存在时返回0
+    public int remove(int key) {
+        if (key == 0) {
+            if (!hasZeroKey)
+                return 0;
+            int ret = zeroValue;
+            hasZeroKey = false;
+            zeroValue = 0;
+            size--;
+            return ret;
+        }
+        int i = slotOf(key);
+        if (keys[i] == 0)
+            return 0;
+        int ret = values[i];
+        deleteSlot(i);
+        size--;
+        return ret;
+    }
+
+    private void insertAt(int i, int key, int value) {
+        keys[i] = key;
+        values[i] = value;
+        size++;
+        if (size >= keys.length * MAX_LOAD_FACTOR)
+            resize(keys.length * 2);
+    }
+
+    // 删除槽位i上的元素，把同一簇后面可以前移的元素搬过来填补空位
+    private void deleteSlot(int i) {
+        int j = i;
+        while (true) {
+            j = (j + 1) & mask;
+            if (keys[j] == 0)
+                break;
+            int home = hash(keys[j]);
+            if (((j - home) & mask) >= ((j - i) & mask)) {
+                keys[i] = keys[j];
+                values[i] = values[j];
+                i = j;
+            }
+        }
+        keys[i] = 0;
+        values[i] = 0;
+    }
+
+    private void resize(int newCapacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new int[newCapacity];
+        values = new int[newCapacity];
+        mask = newCapacity - 1;
+        for (int i = 0; i < oldKeys.length; i++)
+            if (oldKeys[i] != 0) {
+                int j = slotOf(oldKeys[i]);
+                keys[j] = oldKeys[i];
+                values[j] = oldValues[i];
+            }
+    }
+
+    public static void main(String[] args) {
+        int n = 1000000;
+        Random random = new Random();
+        IntIntHashMap map = new IntIntHashMap();
+        HashTable<Integer, Integer> table = new HashTable<>();
+        for (int i = 0; i < n; i++) {
+            int key = random.nextInt(n / 10) - n / 20;
+            map.increment(key);
+            Integer count = table.get(key);
+            table.add(key, count == null ? 1 : count + 1);
+        }
+        if (map.getSize() != table.getSize())
+            throw new RuntimeException("Error");
+        for (int key = -n / 20; key < n / 20; key++) {
+            Integer count = table.get(key);
+            if (map.get(key) != (count == null ? 0 : count))
+                throw new RuntimeException("Error");
+        }
+        for (int key = -n / 20; key < n / 20; key += 2) {
+            map.remove(key);
+            table.remove(key);
+        }
+        if (map.getSize() != table.getSize())
+            throw new RuntimeException("Error");
+        for (int key = -n / 20; key < n / 20; key++)
+            if (map.contains(key) != table.contains(key))
+                throw new RuntimeException("Error");
+        System.out.println("OK");
+    }
+}
@@ -0,0 +1,252 @@
+package datastructure;
+
+import java.util.Random;
+
+// 支持区间更新的线段树(懒惰传播)
+// 与SegmentTree一样递归地在4n的数组上建树，每个节点另外记录一个还没有下传给孩子的更新lazy[treeIndex]：
+// 区间更新遇到完全被覆盖的节点时，只用Updater.apply更新这个节点的融合结果，并把更新用Updater.compose累积在它的lazy上，
+// 不再往下走；之后查询或更新需要进入这个节点的孩子时，才把累积的更新下传一层
+// 所以区间更新和区间查询都是O(logn)
+public class LazySegmentTree<E, U> {
+    private E[] tree;
+    private U[] lazy;
+    private int size;
+    private Merger<E> merger;
+    private Updater<E, U> updater;
+
+    //构造函数，传入数组、融合器和更新规则
+    @SuppressWarnings("unchecked")
+    public LazySegmentTree(E[] arr, Merger<E> merger, Updater<E, U> updater) {
+        if (arr.length == 0)
+            throw new IllegalArgumentException("arr can not be empty.");
+
+        this.merger = merger;
+        this.updater = updater;
+        size = arr.length;
+        tree = (E[]) new Object[4 * size];
+        lazy = (U[]) new Object[4 * size];
+        buildSegmentTree(arr, 0, 0, size - 1);
+    }
+
+    //在treeIndex位置创建表示区间[l...r]的线段树
+    private void buildSegmentTree(E[] arr, int treeIndex, int l, int r) {
+        if (l == r) {
+            tree[treeIndex] = arr[l];
+            return;
+        }
+        int mid = l + (r - l) / 2;
+        buildSegmentTree(arr, leftChild(treeIndex), l, mid);
+        buildSegmentTree(arr, rightChild(treeIndex), mid + 1, r);
+        tree[treeIndex] = merger.merge(tree[leftChild(treeIndex)], tree[rightChild(treeIndex)]);
+    }
+
+    //获取大小
+    public int getSize() {
+        return size;
+    }
+
+    //辅助函数，查找当前下标的左子树的下标
+    private int leftChild(int index) {
+        return 2 * index + 1;
+    }
+
+    //辅助函数，查找当前下标的右子树的下标
+    private int rightChild(int index) {
+        return 2 * index + 2;
+    }
+
+    // 把更新u作用到表示长度为length的区间的节点treeIndex上，并累积到它的lazy中
+    private void applyUpdate(int treeIndex, int length, U u) {
+        tree[treeIndex] = updater.apply(tree[treeIndex], u, length);
+        lazy[treeIndex] = lazy[treeIndex] == null ? u : updater.compose(lazy[treeIndex], u);
+    }
+
+    // 把节点treeIndex(表示区间[l...r])上累积的更新下传给两个孩子
+    private void pushDown(int treeIndex, int l, int mid, int r) {
+        U u = lazy[treeIndex];
+        if (u == null)
+            return;
+        applyUpdate(leftChild(treeIndex), mid - l + 1, u);
+        applyUpdate(rightChild(treeIndex), r - mid, u);
+        lazy[treeIndex] = null;
+    }
+
+    private void checkRange(int l, int r) {
+        if (l < 0 || l >= size || r < 0 || r >= size || l > r)
+            throw new IllegalArgumentException("Index is illegal.");
+    }
+
+    //按下标取值
+    public E get(int index) {
+        return query(index, index);
+    }
+
+    //查询[queryL...queryR]区间的值
+    public E query(int queryL, int queryR) {
+        checkRange(queryL, queryR);
+        return query(0, 0, size - 1, queryL, queryR);
+    }
+
+    // 在以treeIndex为根的线段树中[l...r]的范围里，搜索区间[queryL...queryR]的值
+    private E query(int treeIndex, int l, int r, int queryL, int queryR) {
+        if (l == queryL && r == queryR)
+            return tree[treeIndex];
+
+        int mid = l + (r - l) / 2;
+        pushDown(treeIndex, l, mid, r);
+        if (queryL >= mid + 1)
+            return query(rightChild(treeIndex), mid + 1, r, queryL, queryR);
+        else if (queryR <= mid)
+            return query(leftChild(treeIndex), l, mid, queryL, queryR);
+
+        E leftResult = query(leftChild(treeIndex), l, mid, queryL, mid);
+        E rightResult = query(rightChild(treeIndex), mid + 1, r, mid + 1, queryR);
+        return merger.merge(leftResult, rightResult);
+    }
+
+    //把更新u作用到区间[updateL...updateR]中的每一个元素上
+    public void update(int updateL, int updateR, U u) {
+        checkRange(updateL, updateR);
+        update(0, 0, size - 1, updateL, updateR, u);
+    }
+
+    // 在以treeIndex为根的线段树中[l...r]的范围里，更新区间[updateL...updateR]
+    private void update(int treeIndex, int l, int r, int updateL, int updateR, U u) {
+        if (l == updateL && r == updateR) {
+            applyUpdate(treeIndex, r - l + 1, u);
+            return;
+        }
+
+        int mid = l + (r - l) / 2;
+        pushDown(treeIndex, l, mid, r);
+        if (updateL >= mid + 1)
+            update(rightChild(treeIndex), mid + 1, r, updateL, updateR, u);
+        else if (updateR <= mid)
+            update(leftChild(treeIndex), l, mid, updateL, updateR, u);
+        else {
+            update(leftChild(treeIndex), l, mid, updateL, mid, u);
+            update(rightChild(treeIndex), mid + 1, r, mid + 1, updateR, u);
+        }
+        tree[treeIndex] = merger.merge(tree[leftChild(treeIndex)], tree[rightChild(treeIndex)]);
+    }
+
+    //更新index位置的值为e
+    public void set(int index, E e) {
+        if (index < 0 || index >= size)
+            throw new IllegalArgumentException("Index is illegal");
+        set(0, 0, size - 1, index, e);
+    }
+
+    // 在以treeIndex为根的线段树中更新index的值为e，路径上累积的更新先下传，之后不会再作用到e上
+    private void set(int treeIndex, int l, int r, int index, E e) {
+        if (l == r) {
+            tree[treeIndex] = e;
+            lazy[treeIndex] = null;
+            return;
+        }
+
+        int mid = l + (r - l) / 2;
+        pushDown(treeIndex, l, mid, r);
+        if (index >= mid + 1)
+            set(rightChild(treeIndex), mid + 1, r, index, e);
+        else
+            set(leftChild(treeIndex), l, mid, index, e);
+        tree[treeIndex] = merger.merge(tree[leftChild(treeIndex)], tree[rightChild(treeIndex)]);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder res = new StringBuilder();
+        res.append("[");
+        for (int i = 0; i < size; i++) {
+            res.append(get(i));
+            if (i != size - 1)
+                res.append(", ");
+        }
+        res.append("]");
+        return res.toString();
+    }
+
+    //测试函数
+    public static void main(String[] args) {
+        Integer[] nums = {-2, 0, 3, -5, 2, -1};
+
+        // 区间加法，区间求和
+        LazySegmentTree<Integer, Integer> sumTree = new LazySegmentTree<>(nums, (a, b) -> a + b,
+                new Updater<Integer, Integer>() {
+                    @Override
+                    public Integer apply(Integer value, Integer u, int length) {
+                        return value + u * length;
+                    }
+
+                    @Override
+                    public Integer compose(Integer first, Integer second) {
+                        return first + second;
+                    }
+                });
+        sumTree.update(1, 4, 10);
+        System.out.println(sumTree + " sum[2...5] = " + sumTree.query(2, 5));
+
+        // 与暴力做法对比：区间加法+区间求和，区间赋值+区间最大值
+        Random random = new Random();
+        int n = 1000;
+        Long[] init = new Long[n];
+        for (int i = 0; i < n; i++)
+            init[i] = (long) random.nextInt(1000);
+
+        LazySegmentTree<Long, Long> addSum = new LazySegmentTree<>(init, (a, b) -> a + b,
+                new Updater<Long, Long>() {
+                    @Override
+                    public Long apply(Long value, Long u, int length) {
+                        return value + u * length;
+                    }
+
+                    @Override
+                    public Long compose(Long first, Long second) {
+                        return first + second;
+                    }
+                });
+        LazySegmentTree<Long, Long> assignMax = new LazySegmentTree<>(init, Math::max,
+                new Updater<Long, Long>() {
+                    @Override
+                    public Long apply(Long value, Long u, int length) {
+                        return u;
+                    }
+
+                    @Override
+                    public Long compose(Long first, Long second) {
+                        return second;
+                    }
+                });
+        long[] added = new long[n], assigned = new long[n];
+        for (int i = 0; i < n; i++)
+            added[i] = assigned[i] = init[i];
+
+        for (int k = 0; k < 100000; k++) {
+            int l = random.nextInt(n), r = l + random.nextInt(n - l);
+            long u = random.nextInt(2001) - 1000;
+            int op = random.nextInt(4);
+            if (op == 0) {
+                addSum.update(l, r, u);
+                assignMax.update(l, r, u);
+                for (int i = l; i <= r; i++) {
+                    added[i] += u;
+                    assigned[i] = u;
+                }
+            } else if (op == 1) {
+                addSum.set(l, u);
+                assignMax.set(l, u);
+                added[l] = assigned[l] = u;
+            } else {
+                long sum = 0, max = Long.MIN_VALUE;
+                for (int i = l; i <= r; i++) {
+                    sum += added[i];
+                    max = Math.max(max, assigned[i]);
+                }
+                if (addSum.query(l, r) != sum || assignMax.query(l, r) != max)
+                    throw new IllegalArgumentException("Error");
+            }
+        }
+        System.out.println("Good Job!");
+    }
+}
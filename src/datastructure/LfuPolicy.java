@@ -0,0 +1,128 @@
+package datastructure;
+
+// 最不经常使用：淘汰被访问次数最少的key，次数相同时淘汰最早达到这个次数的key
+// 访问次数相同的key放在同一个桶里，桶内是一个双向链表，新来的加在尾部；
+// 所有非空的桶按次数从小到大串成一个双向链表，第一个桶的第一个key就是要淘汰的key
+// 一次访问只是把key从次数为f的桶移到相邻的次数为f + 1的桶(没有就新建一个)，所有操作都是O(1)
+public class LfuPolicy<K> implements EvictionPolicy<K> {
+
+    private static class Node<K> {
+        public K key;
+        public long weight;
+        public Bucket<K> bucket;
+        public Node<K> prev, next;
+
+        public Node(K key, long weight) {
+            this.key = key;
+            this.weight = weight;
+        }
+    }
+
+    // 桶内的key串成一个以dummy为虚拟节点的循环链表
+    private static class Bucket<K> {
+        public long frequency;
+        public Node<K> dummy;
+        public Bucket<K> prev, next;
+
+        public Bucket(long frequency) {
+            this.frequency = frequency;
+            dummy = new Node<>(null, 0);
+            dummy.prev = dummy;
+            dummy.next = dummy;
+        }
+
+        public boolean isEmpty() {
+            return dummy.next == dummy;
+        }
+    }
+
+    private HashTable<K, Node<K>> nodes;
+    // 桶也串成一个以dummyBucket为虚拟节点的循环链表，dummyBucket的次数为0
+    private Bucket<K> dummyBucket;
+
+    public LfuPolicy() {
+        nodes = new HashTable<>();
+        dummyBucket = new Bucket<>(0);
+        dummyBucket.prev = dummyBucket;
+        dummyBucket.next = dummyBucket;
+    }
+
+    // 返回key的访问次数，key不存在时返回0
+    public long frequency(K key) {
+        Node<K> node = nodes.get(key);
+        return node == null ? 0 : node.bucket.frequency;
+    }
+
+    // 返回prev之后次数为frequency的桶，没有就在prev之后新建一个
+    private Bucket<K> bucketAfter(Bucket<K> prev, long frequency) {
+        if (prev.next.frequency == frequency)
+            return prev.next;
+
+        Bucket<K> bucket = new Bucket<>(frequency);
+        bucket.prev = prev;
+        bucket.next = prev.next;
+        prev.next.prev = bucket;
+        prev.next = bucket;
+        return bucket;
+    }
+
+    private void append(Bucket<K> bucket, Node<K> node) {
+        node.bucket = bucket;
+        node.prev = bucket.dummy.prev;
+        node.next = bucket.dummy;
+        bucket.dummy.prev.next = node;
+        bucket.dummy.prev = node;
+    }
+
+    // 把node从它的桶中摘下，桶空了就把桶也删除
+    private void detach(Node<K> node) {
+        node.prev.next = node.next;
+        node.next.prev = node.prev;
+        node.prev = null;
+        node.next = null;
+
+        Bucket<K> bucket = node.bucket;
+        if (bucket.isEmpty()) {
+            bucket.prev.next = bucket.next;
+            bucket.next.prev = bucket.prev;
+        }
+        node.bucket = null;
+    }
+
+    @Override
+    public void onInsert(K key, long weight) {
+        Node<K> node = new Node<>(key, weight);
+        nodes.add(key, node);
+        append(bucketAfter(dummyBucket, 1), node);
+    }
+
+    @Override
+    public void onAccess(K key) {
+        Node<K> node = nodes.get(key);
+        Bucket<K> bucket = node.bucket;
+        // 先找到(或建好)下一个桶再摘下node，否则bucket被删除后就找不到插入的位置了
+        Bucket<K> next = bucketAfter(bucket, bucket.frequency + 1);
+        detach(node);
+        append(next, node);
+    }
+
+    @Override
+    public void onUpdate(K key, long weight) {
+        nodes.get(key).weight = weight;
+        onAccess(key);
+    }
+
+    @Override
+    public long onRemove(K key) {
+        Node<K> node = nodes.remove(key);
+        detach(node);
+        return node.weight;
+    }
+
+    @Override
+    public K victim() {
+        if (dummyBucket.next == dummyBucket)
+            throw new IllegalArgumentException("Policy is empty.");
+        return dummyBucket.next.dummy.next.key;
+    }
+}
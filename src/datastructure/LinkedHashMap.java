@@ -0,0 +1,321 @@
+package datastructure;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+// 带顺序的哈希Map：与LinkedListMap一样把所有键值对串成一个链表，另用一个HashTable从key直接找到链表节点，
+// 查找、添加、删除都是O(1)，遍历顺序由链表决定
+// 链表是带虚拟头尾节点的双向链表，新的键值对总是加在尾部，头部是最老的
+// accessOrder为false时按插入顺序遍历，更新已有key的值不改变顺序；
+// accessOrder为true时按访问顺序遍历，get、set以及对已有key的add、merge、computeIfAbsent都会把它移到尾部，
+// 头部就是最久没有被访问的key，再给出maxSize，超出时自动删除头部，就是一个LRU Map
+public class LinkedHashMap<K, V> implements Map<K, V> {
+
+    private static class Node<K, V> {
+        public K key;
+        public V value;
+        public Node<K, V> prev, next;
+
+        public Node(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public String toString() {
+            return key.toString() + " : " + value.toString();
+        }
+    }
+
+    private HashTable<K, Node<K, V>> index;
+    private Node<K, V> dummyHead, dummyTail;
+    private boolean accessOrder;
+    // 最多保留的键值对个数，为0时不限制
+    private int maxSize;
+    // 链表结构或顺序修改的次数，迭代器用它检查并发修改
+    private int modCount;
+
+    public LinkedHashMap(boolean accessOrder, int maxSize) {
+        if (maxSize < 0)
+            throw new IllegalArgumentException("maxSize can not be negative.");
+
+        index = new HashTable<>();
+        dummyHead = new Node<>(null, null);
+        dummyTail = new Node<>(null, null);
+        dummyHead.next = dummyTail;
+        dummyTail.prev = dummyHead;
+        this.accessOrder = accessOrder;
+        this.maxSize = maxSize;
+    }
+
+    public LinkedHashMap(boolean accessOrder) {
+        this(accessOrder, 0);
+    }
+
+    public LinkedHashMap() {
+        this(false, 0);
+    }
+
+    public boolean isAccessOrder() {
+        return accessOrder;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    @Override
+    public int getSize() {
+        return index.getSize();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return index.isEmpty();
+    }
+
+    private void linkLast(Node<K, V> node) {
+        node.prev = dummyTail.prev;
+        node.next = dummyTail;
+        dummyTail.prev.next = node;
+        dummyTail.prev = node;
+        modCount++;
+    }
+
+    private void unlink(Node<K, V> node) {
+        node.prev.next = node.next;
+        node.next.prev = node.prev;
+        node.prev = null;
+        node.next = null;
+        modCount++;
+    }
+
+    // 访问顺序下把node移到尾部
+    private void afterAccess(Node<K, V> node) {
+        if (accessOrder && node != dummyTail.prev) {
+            unlink(node);
+            linkLast(node);
+        }
+    }
+
+    // 新的key加在尾部，超出maxSize时删除头部最老的key
+    private void insert(K key, V value) {
+        Node<K, V> node = new Node<>(key, value);
+        index.add(key, node);
+        linkLast(node);
+        if (maxSize > 0 && index.getSize() > maxSize)
+            removeEldest();
+    }
+
+    @Override
+    public boolean contains(K key) {
+        return index.contains(key);
+    }
+
+    // 只查看key对应的值，不改变访问顺序
+    public V peek(K key) {
+        Node<K, V> node = index.get(key);
+        return node == null ? null : node.value;
+    }
+
+    @Override
+    public V get(K key) {
+        Node<K, V> node = index.get(key);
+        if (node == null)
+            return null;
+        afterAccess(node);
+        return node.value;
+    }
+
+    @Override
+    public void add(K key, V value) {
+        Node<K, V> node = index.get(key);
+        if (node == null)
+            insert(key, value);
+        else {
+            node.value = value;
+            afterAccess(node);
+        }
+    }
+
+    @Override
+    public void merge(K key, V value, Merger<V> merger) {
+        Node<K, V> node = index.get(key);
+        if (node == null)
+            insert(key, value);
+        else {
+            node.value = merger.merge(node.value, value);
+            afterAccess(node);
+        }
+    }
+
+    @Override
+    public V computeIfAbsent(K key, Function<K, V> mappingFunction) {
+        Node<K, V> node = index.get(key);
+        if (node != null) {
+            afterAccess(node);
+            return node.value;
+        }
+        V value = mappingFunction.apply(key);
+        insert(key, value);
+        return value;
+    }
+
+    @Override
+    public void set(K key, V newValue) {
+        Node<K, V> node = index.get(key);
+        if (node == null)
+            throw new IllegalArgumentException(key + " doesn't exist!");
+        node.value = newValue;
+        afterAccess(node);
+    }
+
+    @Override
+    public V remove(K key) {
+        Node<K, V> node = index.remove(key);
+        if (node == null)
+            return null;
+        unlink(node);
+        return node.value;
+    }
+
+    // 返回最老的key：插入顺序下是最早插入的，访问顺序下是最久没有访问的
+    public K getEldestKey() {
+        if (isEmpty())
+            throw new IllegalArgumentException("Map is empty.");
+        return dummyHead.next.key;
+    }
+
+    // 删除最老的键值对，返回它的值
+    public V removeEldest() {
+        if (isEmpty())
+            throw new IllegalArgumentException("Map is empty.");
+        Node<K, V> node = dummyHead.next;
+        index.remove(node.key);
+        unlink(node);
+        return node.value;
+    }
+
+    // 按链表顺序从最老到最新遍历所有键值对，遍历本身不改变访问顺序
+    public void forEach(BiConsumer<K, V> action) {
+        for (Node<K, V> cur = dummyHead.next; cur != dummyTail; cur = cur.next)
+            action.accept(cur.key, cur.value);
+    }
+
+    // 按链表顺序从最老到最新返回所有key，迭代器是fail-fast的，支持remove
+    public Iterable<K> keys() {
+        return KeyIterator::new;
+    }
+
+    private class KeyIterator implements Iterator<K> {
+        private Node<K, V> next = dummyHead.next;
+        private Node<K, V> lastReturned;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return next != dummyTail;
+        }
+
+        @Override
+        public K next() {
+            checkForComodification();
+            if (next == dummyTail)
+                throw new NoSuchElementException();
+
+            lastReturned = next;
+            next = next.next;
+            return lastReturned.key;
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned == null)
+                throw new IllegalStateException();
+            checkForComodification();
+
+            LinkedHashMap.this.remove(lastReturned.key);
+            lastReturned = null;
+            expectedModCount = modCount;
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder res = new StringBuilder();
+        res.append(String.format("LinkedHashMap: size = %d, %s order\n", getSize(), accessOrder ? "access" : "insertion"));
+        res.append('{');
+        for (Node<K, V> cur = dummyHead.next; cur != dummyTail; cur = cur.next) {
+            res.append(cur);
+            if (cur.next != dummyTail)
+                res.append(", ");
+        }
+        res.append('}');
+        return res.toString();
+    }
+
+    public static void main(String[] args) {
+
+        // 插入顺序和访问顺序下随机操作，与java.util.LinkedHashMap对比内容和遍历顺序
+        Random random = new Random();
+        for (boolean accessOrder : new boolean[]{false, true}) {
+            LinkedHashMap<Integer, Integer> map = new LinkedHashMap<>(accessOrder);
+            java.util.LinkedHashMap<Integer, Integer> expected = new java.util.LinkedHashMap<>(16, 0.75f, accessOrder);
+            for (int i = 0; i < 200000; i++) {
+                int key = random.nextInt(1000);
+                int op = random.nextInt(4);
+                if (op == 0) {
+                    map.add(key, i);
+                    expected.put(key, i);
+                } else if (op == 1) {
+                    map.merge(key, 1, (a, b) -> a + b);
+                    expected.merge(key, 1, Integer::sum);
+                } else if (op == 2) {
+                    if (!java.util.Objects.equals(map.get(key), expected.get(key)))
+                        throw new IllegalArgumentException("Error");
+                } else if (!java.util.Objects.equals(map.remove(key), expected.remove(key)))
+                    throw new IllegalArgumentException("Error");
+
+                if (map.getSize() != expected.size())
+                    throw new IllegalArgumentException("Error");
+            }
+
+            Iterator<Integer> expectedKeys = expected.keySet().iterator();
+            for (int key : map.keys())
+                if (key != expectedKeys.next())
+                    throw new IllegalArgumentException("Error");
+            if (expectedKeys.hasNext())
+                throw new IllegalArgumentException("Error");
+        }
+
+        // maxSize为3的LRU：访问过的1不会被淘汰，淘汰的是最久没有访问的2
+        LinkedHashMap<Integer, String> lru = new LinkedHashMap<>(true, 3);
+        lru.add(1, "one");
+        lru.add(2, "two");
+        lru.add(3, "three");
+        lru.get(1);
+        lru.add(4, "four");
+        if (lru.contains(2) || !lru.contains(1) || lru.getSize() != 3 || lru.getEldestKey() != 3)
+            throw new IllegalArgumentException("Error");
+
+        // 遍历的同时删除
+        Iterator<Integer> it = lru.keys().iterator();
+        while (it.hasNext())
+            if (it.next() == 1)
+                it.remove();
+        System.out.println(lru);
+        if (lru.contains(1) || lru.getSize() != 2)
+            throw new IllegalArgumentException("Error");
+
+        System.out.println("Good Job!");
+    }
+}
@@ -0,0 +1,89 @@
+package datastructure;
+
+import java.util.Iterator;
+import java.util.Random;
+
+// 带插入顺序的哈希Set：用LinkedHashMap实现，value不使用
+// 与LinkedListSet相比，add、contains、remove都是O(1)，并且按插入顺序遍历
+public class LinkedHashSet<E> implements Set<E>, Iterable<E> {
+
+    private LinkedHashMap<E, Boolean> map;
+
+    public LinkedHashSet() {
+        map = new LinkedHashMap<>();
+    }
+
+    @Override
+    public int getSize() {
+        return map.getSize();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    // 已经存在的元素不改变顺序
+    @Override
+    public void add(E e) {
+        if (!map.contains(e))
+            map.add(e, Boolean.TRUE);
+    }
+
+    @Override
+    public boolean contains(E e) {
+        return map.contains(e);
+    }
+
+    @Override
+    public void remove(E e) {
+        map.remove(e);
+    }
+
+    // 按插入顺序遍历，迭代器是fail-fast的，支持remove
+    @Override
+    public Iterator<E> iterator() {
+        return map.keys().iterator();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder res = new StringBuilder();
+        res.append(String.format("LinkedHashSet: size = %d\n", getSize()));
+        res.append('{');
+        Iterator<E> it = iterator();
+        while (it.hasNext()) {
+            res.append(it.next());
+            if (it.hasNext())
+                res.append(", ");
+        }
+        res.append('}');
+        return res.toString();
+    }
+
+    public static void main(String[] args) {
+        Random random = new Random();
+        LinkedHashSet<Integer> set = new LinkedHashSet<>();
+        java.util.LinkedHashSet<Integer> expected = new java.util.LinkedHashSet<>();
+        for (int i = 0; i < 200000; i++) {
+            int e = random.nextInt(1000);
+            if (random.nextInt(3) > 0) {
+                set.add(e);
+                expected.add(e);
+            } else {
+                set.remove(e);
+                expected.remove(e);
+            }
+            if (set.getSize() != expected.size() || set.contains(e) != expected.contains(e))
+                throw new IllegalArgumentException("Error");
+        }
+
+        Iterator<Integer> expectedIt = expected.iterator();
+        for (int e : set)
+            if (e != expectedIt.next())
+                throw new IllegalArgumentException("Error");
+        if (expectedIt.hasNext())
+            throw new IllegalArgumentException("Error");
+        System.out.println("Good Job!");
+    }
+}
@@ -0,0 +1,354 @@
+package datastructure;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+// 双向链表，头尾各有一个虚拟节点dummyHead、dummyTail
+// 两端的添加、删除和查看都是O(1)，按下标访问时从离index较近的一端开始走
+// 迭代器是fail-fast的：迭代过程中链表被迭代器以外的操作修改，下一次访问会抛出ConcurrentModificationException，
+// 迭代器自己的remove可以在遍历的同时删除元素
+// 可选地把删除的节点放进一个有上限的空闲链表，之后添加元素时优先复用，频繁进出的场景下不再每次都分配Node
+public class LinkedList<E> implements Iterable<E> {
+
+    private static class Node<E>{
+        public E e;
+        public Node<E> prev, next;
+
+        public Node(E e, Node<E> prev, Node<E> next){
+            this.e = e;
+            this.prev = prev;
+            this.next = next;
+        }
+
+        public Node(){
+            this(null, null, null);
+        }
+
+        @Override
+        public String toString(){
+            return e.toString();
+        }
+    }
+
+    private Node<E> dummyHead, dummyTail;
+    private int size;
+    // 结构修改(添加、删除)的次数，迭代器用它检查并发修改
+    private int modCount;
+
+    // 空闲节点通过next串成一个栈，最多保留poolCapacity个
+    private Node<E> freeList;
+    private int freeSize;
+    private int poolCapacity;
+
+    public LinkedList(){
+        this(0);
+    }
+
+    // poolCapacity为最多缓存的空闲节点个数，为0时不缓存
+    public LinkedList(int poolCapacity){
+        if(poolCapacity < 0)
+            throw new IllegalArgumentException("poolCapacity can not be negative.");
+
+        dummyHead = new Node<>();
+        dummyTail = new Node<>();
+        dummyHead.next = dummyTail;
+        dummyTail.prev = dummyHead;
+        size = 0;
+        this.poolCapacity = poolCapacity;
+    }
+
+    // 获取链表中的元素个数
+    public int getSize(){
+        return size;
+    }
+
+    // 返回链表是否为空
+    public boolean isEmpty(){
+        return size == 0;
+    }
+
+    // 从空闲链表取一个节点，没有时才新建
+    private Node<E> newNode(E e, Node<E> prev, Node<E> next){
+        Node<E> node = freeList;
+        if(node == null)
+            return new Node<>(e, prev, next);
+
+        freeList = node.next;
+        freeSize --;
+        node.e = e;
+        node.prev = prev;
+        node.next = next;
+        return node;
+    }
+
+    // 在succ之前插入新的元素e
+    private void linkBefore(E e, Node<E> succ){
+        Node<E> prev = succ.prev;
+        Node<E> node = newNode(e, prev, succ);
+        prev.next = node;
+        succ.prev = node;
+        size ++;
+        modCount ++;
+    }
+
+    // 把node从链表中摘下，返回它的元素，空闲链表未满时回收node
+    private E unlink(Node<E> node){
+        E ret = node.e;
+        node.prev.next = node.next;
+        node.next.prev = node.prev;
+        size --;
+        modCount ++;
+
+        node.e = null;
+        node.prev = null;
+        if(freeSize < poolCapacity){
+            node.next = freeList;
+            freeList = node;
+            freeSize ++;
+        }
+        else
+            node.next = null;
+        return ret;
+    }
+
+    // 返回index(0-based)位置的节点，从离index较近的一端开始走
+    private Node<E> node(int index){
+        Node<E> cur;
+        if(index < size / 2){
+            cur = dummyHead.next;
+            for(int i = 0 ; i < index ; i ++)
+                cur = cur.next;
+        }
+        else{
+            cur = dummyTail.prev;
+            for(int i = size - 1 ; i > index ; i --)
+                cur = cur.prev;
+        }
+        return cur;
+    }
+
+    // 在链表的index(0-based)位置添加新的元素e
+    public void add(int index, E e){
+
+        if(index < 0 || index > size)
+            throw new IllegalArgumentException("Add failed. Illegal index.");
+
+        linkBefore(e, index == size ? dummyTail : node(index));
+    }
+
+    // 在链表头添加新的元素e
+    public void addFirst(E e){
+        linkBefore(e, dummyHead.next);
+    }
+
+    // 在链表末尾添加新的元素e
+    public void addLast(E e){
+        linkBefore(e, dummyTail);
+    }
+
+    // 获得链表的第index(0-based)个位置的元素
+    public E get(int index){
+
+        if(index < 0 || index >= size)
+            throw new IllegalArgumentException("Get failed. Illegal index.");
+
+        return node(index).e;
+    }
+
+    // 获得链表的第一个元素
+    public E getFirst(){
+        if(size == 0)
+            throw new IllegalArgumentException("Get failed. List is empty.");
+        return dummyHead.next.e;
+    }
+
+    // 获得链表的最后一个元素
+    public E getLast(){
+        if(size == 0)
+            throw new IllegalArgumentException("Get failed. List is empty.");
+        return dummyTail.prev.e;
+    }
+
+    // 修改链表的第index(0-based)个位置的元素为e
+    public void set(int index, E e){
+        if(index < 0 || index >= size)
+            throw new IllegalArgumentException("Set failed. Illegal index.");
+
+        node(index).e = e;
+    }
+
+    // 查找链表中是否有元素e
+    public boolean contains(E e){
+        for(Node<E> cur = dummyHead.next ; cur != dummyTail ; cur = cur.next)
+            if(cur.e.equals(e))
+                return true;
+        return false;
+    }
+
+    // 从链表中删除index(0-based)位置的元素, 返回删除的元素
+    public E remove(int index){
+        if(index < 0 || index >= size)
+            throw new IllegalArgumentException("Remove failed. Index is illegal.");
+
+        return unlink(node(index));
+    }
+
+    // 从链表中删除第一个元素, 返回删除的元素
+    public E removeFirst(){
+        if(size == 0)
+            throw new IllegalArgumentException("Remove failed. List is empty.");
+        return unlink(dummyHead.next);
+    }
+
+    // 从链表中删除最后一个元素, 返回删除的元素
+    public E removeLast(){
+        if(size == 0)
+            throw new IllegalArgumentException("Remove failed. List is empty.");
+        return unlink(dummyTail.prev);
+    }
+
+    // 从链表中删除元素e
+    public void removeElement(E e){
+        for(Node<E> cur = dummyHead.next ; cur != dummyTail ; cur = cur.next)
+            if(cur.e.equals(e)){
+                unlink(cur);
+                return;
+            }
+    }
+
+    @Override
+    public Iterator<E> iterator(){
+        return new Itr();
+    }
+
+    private class Itr implements Iterator<E> {
+        private Node<E> next = dummyHead.next;
+        // 上一次next()返回的节点，remove删除的就是它
+        private Node<E> lastReturned;
+        private int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext(){
+            return next != dummyTail;
+        }
+
+        @Override
+        public E next(){
+            checkForComodification();
+            if(next == dummyTail)
+                throw new NoSuchElementException();
+
+            lastReturned = next;
+            next = next.next;
+            return lastReturned.e;
+        }
+
+        @Override
+        public void remove(){
+            if(lastReturned == null)
+                throw new IllegalStateException();
+            checkForComodification();
+
+            unlink(lastReturned);
+            lastReturned = null;
+            expectedModCount = modCount;
+        }
+
+        private void checkForComodification(){
+            if(modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+        }
+    }
+
+    @Override
+    public String toString(){
+        StringBuilder res = new StringBuilder();
+
+        for(Node<E> cur = dummyHead.next ; cur != dummyTail ; cur = cur.next)
+            res.append(cur + "->");
+        res.append("NULL");
+
+        return res.toString();
+    }
+
+    public static void main(String[] args){
+
+        // 随机地在两端和中间添加删除，与java.util.LinkedList对比，带节点池和不带节点池各测一次
+        Random random = new Random();
+        for(int poolCapacity : new int[]{0, 16}){
+            LinkedList<Integer> list = new LinkedList<>(poolCapacity);
+            java.util.LinkedList<Integer> expected = new java.util.LinkedList<>();
+            for(int i = 0 ; i < 200000 ; i ++){
+                int op = random.nextInt(i % 20000 < 10000 ? 8 : 6);
+                if(op == 0){
+                    list.addFirst(i);
+                    expected.addFirst(i);
+                }
+                else if(op == 1){
+                    list.addLast(i);
+                    expected.addLast(i);
+                }
+                else if(op == 2){
+                    int index = random.nextInt(expected.size() + 1);
+                    list.add(index, i);
+                    expected.add(index, i);
+                }
+                else if(op >= 6){
+                    list.addLast(i);
+                    expected.addLast(i);
+                }
+                else if(!expected.isEmpty()){
+                    boolean same;
+                    if(op == 3)
+                        same = list.removeFirst().equals(expected.removeFirst());
+                    else if(op == 4)
+                        same = list.removeLast().equals(expected.removeLast());
+                    else{
+                        int index = random.nextInt(expected.size());
+                        same = list.remove(index).equals(expected.remove(index));
+                    }
+                    if(!same)
+                        throw new IllegalArgumentException("Error");
+                }
+
+                if(list.getSize() != expected.size())
+                    throw new IllegalArgumentException("Error");
+                if(!expected.isEmpty() && (!list.getFirst().equals(expected.getFirst())
+                        || !list.getLast().equals(expected.getLast())))
+                    throw new IllegalArgumentException("Error");
+            }
+
+            // 遍历的同时删除所有偶数
+            Iterator<Integer> it = list.iterator();
+            while(it.hasNext())
+                if(it.next() % 2 == 0)
+                    it.remove();
+            expected.removeIf(e -> e % 2 == 0);
+            Iterator<Integer> expectedIt = expected.iterator();
+            for(int e : list)
+                if(e != expectedIt.next())
+                    throw new IllegalArgumentException("Error");
+            if(expectedIt.hasNext())
+                throw new IllegalArgumentException("Error");
+        }
+
+        // 迭代过程中从外部修改链表
+        LinkedList<Integer> list = new LinkedList<>();
+        for(int i = 0 ; i < 10 ; i ++)
+            list.addLast(i);
+        try{
+            for(int e : list)
+                if(e == 5)
+                    list.removeFirst();
+            throw new IllegalArgumentException("Error");
+        }
+        catch(ConcurrentModificationException e){
+            // 期望的结果
+        }
+
+        System.out.println(list);
+        System.out.println("Good Job!");
+    }
+}
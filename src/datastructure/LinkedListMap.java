@@ -1,3 +1,7 @@
+package datastructure;
+
+import java.util.function.Function;
+
 public class LinkedListMap<K, V> implements Map<K, V> {
 
     private class Node {
@@ -44,7 +48,7 @@ public class LinkedListMap<K, V> implements Map<K, V> {
     }
 
     private Node getNode(K key) {
-        Node cur = dummyHead;
+        Node cur = dummyHead.next;
         while (cur != null) {
             if (cur.key.equals(key))
                 return cur;
@@ -74,6 +78,29 @@ public class LinkedListMap<K, V> implements Map<K, V> {
             node.value = value;
         }
     }
+
+    @Override
+    public void merge(K key, V value, Merger<V> merger) {
+        Node node = getNode(key);
+        if (node == null) {
+            dummyHead.next = new Node(key, value, dummyHead.next);
+            size++;
+        } else {
+            node.value = merger.merge(node.value, value);
+        }
+    }
+
+    @Override
+    public V computeIfAbsent(K key, Function<K, V> mappingFunction) {
+        Node node = getNode(key);
+        if (node != null)
+            return node.value;
+        V value = mappingFunction.apply(key);
+        dummyHead.next = new Node(key, value, dummyHead.next);
+        size++;
+        return value;
+    }
+
     @Override
     public void set(K key,V newvalue){
         Node node = getNode(key);
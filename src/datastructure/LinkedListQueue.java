@@ -1,3 +1,5 @@
+package datastructure;
+
 public class LinkedListQueue<E> implements Queue<E> {
     private class Node {
         public E e;
@@ -60,7 +62,7 @@ public class LinkedListQueue<E> implements Queue<E> {
         Node retNode = head;
         head = head.next;
         retNode.next = null;
-        if (tail == null)
+        if (head == null)
             tail = null;
         size--;
         return retNode.e;
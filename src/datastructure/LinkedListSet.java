@@ -1,3 +1,5 @@
+package datastructure;
+
 public class LinkedListSet<E> implements Set<E> {
     private LinkedList<E> list;
     public LinkedListSet(){
@@ -1,3 +1,5 @@
+package datastructure;
+
 public class LinkedListStack<E> implements Stack<E> {
     private LinkedList<E> list;
 
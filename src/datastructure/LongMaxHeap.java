@@ -0,0 +1,243 @@
+package datastructure;
+
+import java.util.Arrays;
+import java.util.Random;
+
+// 优先级为long的4叉最大堆，每个元素带一个值，例如以截止时间为优先级的定时任务
+// 优先级、值和句柄分别存放在平行的数组中，优先级不需要装箱，入队和出队都不分配对象(数组扩容除外)
+// 与Queue的约定相同，getFront/dequeue返回优先级最大的元素的值；入队时需要同时给出优先级，所以没有实现Queue接口
+// enqueue返回一个句柄，元素出队之前可以用句柄修改它的优先级，出队后句柄被回收给以后入队的元素
+public class LongMaxHeap<E> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    // 4叉堆，求父亲和孩子的下标时用移位
+    private static final int SHIFT = 2;
+    private static final int ARITY = 1 << SHIFT;
+
+    private long[] keys;
+    private Object[] values;
+    // handles[i]是堆中位置i上的元素的句柄，positions[h]是句柄h在堆中的位置，h不在堆中时为-1
+    private int[] handles;
+    private int[] positions;
+    // 已回收的句柄；没有可回收的句柄时，在用的句柄恰好是0到size - 1，新句柄就是size
+    private int[] free;
+    private int freeCount;
+    private int size;
+
+    public LongMaxHeap(int capacity) {
+        capacity = Math.max(capacity, 1);
+        keys = new long[capacity];
+        values = new Object[capacity];
+        handles = new int[capacity];
+        positions = new int[capacity];
+        Arrays.fill(positions, -1);
+        free = new int[capacity];
+        freeCount = 0;
+        size = 0;
+    }
+
+    public LongMaxHeap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // 句柄h对应的元素是否还在堆中
+    public boolean contains(int h) {
+        return h >= 0 && h < positions.length && positions[h] != -1;
+    }
+
+    // 返回句柄h对应的元素的优先级
+    public long getKey(int h) {
+        checkHandle(h);
+        return keys[positions[h]];
+    }
+
+    // 以key为优先级加入value，返回这个元素的句柄
+    public int enqueue(E value, long key) {
+        if (size == keys.length)
+            resize(keys.length * 2);
+        int h = freeCount > 0 ? free[--freeCount] : size;
+        siftUp(size++, key, value, h);
+        return h;
+    }
+
+    // 查看优先级最大的元素的值
+    @SuppressWarnings("unchecked")
+    public E getFront() {
+        if (size == 0)
+            throw new IllegalArgumentException("Empty Queue");
+        return (E) values[0];
+    }
+
+    // 查看最大的优先级
+    public long getFrontKey() {
+        if (size == 0)
+            throw new IllegalArgumentException("Empty Queue");
+        return keys[0];
+    }
+
+    // 取出优先级最大的元素，返回它的值
+    @SuppressWarnings("unchecked")
+    public E dequeue() {
+        if (size == 0)
+            throw new IllegalArgumentException("can not dequeue from empty queue");
+
+        E ret = (E) values[0];
+        release(handles[0]);
+        size--;
+        long key = keys[size];
+        Object value = values[size];
+        int h = handles[size];
+        values[size] = null;
+        if (size > 0)
+            siftDown(0, key, value, h);
+        return ret;
+    }
+
+    // 把句柄h对应的元素的优先级降低为key，元素在堆中下沉
+    public void decreaseKey(int h, long key) {
+        checkHandle(h);
+        int k = positions[h];
+        if (key > keys[k])
+            throw new IllegalArgumentException("decreaseKey failed. New key is greater than current key.");
+        siftDown(k, key, values[k], h);
+    }
+
+    // 把句柄h对应的元素的优先级提高为key，元素在堆中上浮
+    public void increaseKey(int h, long key) {
+        checkHandle(h);
+        int k = positions[h];
+        if (key < keys[k])
+            throw new IllegalArgumentException("increaseKey failed. New key is less than current key.");
+        siftUp(k, key, values[k], h);
+    }
+
+    private void checkHandle(int h) {
+        if (!contains(h))
+            throw new IllegalArgumentException("Handle " + h + " is not in the heap.");
+    }
+
+    private void release(int h) {
+        positions[h] = -1;
+        free[freeCount++] = h;
+    }
+
+    private void resize(int newCapacity) {
+        int oldCapacity = keys.length;
+        keys = Arrays.copyOf(keys, newCapacity);
+        values = Arrays.copyOf(values, newCapacity);
+        handles = Arrays.copyOf(handles, newCapacity);
+        positions = Arrays.copyOf(positions, newCapacity);
+        Arrays.fill(positions, oldCapacity, newCapacity, -1);
+        free = Arrays.copyOf(free, newCapacity);
+    }
+
+    // 把堆中位置from上的元素移到位置to
+    private void move(int from, int to) {
+        keys[to] = keys[from];
+        values[to] = values[from];
+        handles[to] = handles[from];
+        positions[handles[to]] = to;
+    }
+
+    // 把元素放到位置k上
+    private void place(int k, long key, Object value, int h) {
+        keys[k] = key;
+        values[k] = value;
+        handles[k] = h;
+        positions[h] = k;
+    }
+
+    // 把元素放到空位k上并上浮：优先级比key小的祖先依次下移一层
+    private void siftUp(int k, long key, Object value, int h) {
+        while (k > 0) {
+            int p = (k - 1) >>> SHIFT;
+            if (keys[p] >= key)
+                break;
+            move(p, k);
+            k = p;
+        }
+        place(k, key, value, h);
+    }
+
+    // 把元素放到空位k上并下沉：优先级最大的孩子比key大时把它上移一层
+    private void siftDown(int k, long key, Object value, int h) {
+        int c;
+        while ((c = (k << SHIFT) + 1) < size) {
+            int end = Math.min(c + ARITY, size);
+            int best = c;
+            for (int j = c + 1; j < end; j++)
+                if (keys[j] > keys[best])
+                    best = j;
+            if (key >= keys[best])
+                break;
+            move(best, k);
+            k = best;
+        }
+        place(k, key, value, h);
+    }
+
+    // 检查堆的性质以及句柄与位置的对应关系
+    public boolean isHeap() {
+        for (int i = 0; i < size; i++) {
+            if (i > 0 && keys[(i - 1) >>> SHIFT] < keys[i])
+                return false;
+            if (positions[handles[i]] != i)
+                return false;
+        }
+        return true;
+    }
+
+    public static void main(String[] args) {
+        int n = 100000;
+        Random random = new Random();
+        LongMaxHeap<Integer> heap = new LongMaxHeap<>();
+        long[] keyOf = new long[2 * n];
+        int[] handleOf = new int[2 * n];
+        for (int i = 0; i < n; i++) {
+            keyOf[i] = random.nextLong();
+            handleOf[i] = heap.enqueue(i, keyOf[i]);
+        }
+
+        // 随机修改一部分元素的优先级
+        for (int i = 0; i < n; i += 3) {
+            long delta = random.nextInt(Integer.MAX_VALUE);
+            if (random.nextBoolean() && keyOf[i] - delta < keyOf[i]) {
+                keyOf[i] -= delta;
+                heap.decreaseKey(handleOf[i], keyOf[i]);
+            } else if (keyOf[i] + delta > keyOf[i]) {
+                keyOf[i] += delta;
+                heap.increaseKey(handleOf[i], keyOf[i]);
+            }
+        }
+        if (!heap.isHeap())
+            throw new IllegalArgumentException("Error");
+
+        // 出队一半后再入队，检查句柄的回收
+        for (int i = 0; i < n / 2; i++)
+            heap.dequeue();
+        for (int i = n; i < n + n / 2; i++) {
+            keyOf[i] = random.nextLong();
+            handleOf[i] = heap.enqueue(i, keyOf[i]);
+        }
+        if (!heap.isHeap() || heap.getSize() != n)
+            throw new IllegalArgumentException("Error");
+
+        long prev = Long.MAX_VALUE;
+        while (!heap.isEmpty()) {
+            long key = heap.getFrontKey();
+            int i = heap.dequeue();
+            if (key > prev || keyOf[i] != key)
+                throw new IllegalArgumentException("Error");
+            prev = key;
+        }
+        System.out.println("Good Job!");
+    }
+}
@@ -0,0 +1,170 @@
+package datastructure;
+
+import java.util.Random;
+
+// long元素的线段树，只支持求和、最小值、最大值三种融合方式(SegmentTreeMode)
+// 与SegmentTree相比：
+// 1. 元素直接存放在long数组里，不装箱，融合时也不经过Merger接口调用
+// 2. 数组只有2n大小：叶子放在tree[n...2n-1]，节点i的两个孩子是2i和2i+1，tree[0]不使用
+// 3. 查询和更新都自底向上迭代，不递归：
+//    查询时l、r从叶子同时往上走，l是右孩子时它的父节点覆盖了区间外的元素，先把l计入结果再右移，r同理，
+//    走到l、r相遇为止；更新时从叶子一路往上重新融合父节点
+// 三种融合方式都满足交换律，所以n不需要是2的幂
+// 每种融合方式各写一个查询循环，避免在循环里判断融合方式
+public class LongSegmentTree {
+
+    private long[] tree;
+    private int n;
+    private SegmentTreeMode mode;
+
+    public LongSegmentTree(long[] arr, SegmentTreeMode mode) {
+        if (arr.length == 0)
+            throw new IllegalArgumentException("arr can not be empty.");
+
+        n = arr.length;
+        this.mode = mode;
+        tree = new long[2 * n];
+        System.arraycopy(arr, 0, tree, n, n);
+        for (int i = n - 1; i >= 1; i--)
+            tree[i] = merge(tree[2 * i], tree[2 * i + 1]);
+    }
+
+    public int getSize() {
+        return n;
+    }
+
+    public SegmentTreeMode getMode() {
+        return mode;
+    }
+
+    private long merge(long a, long b) {
+        switch (mode) {
+            case SUM:
+                return a + b;
+            case MIN:
+                return Math.min(a, b);
+            default:
+                return Math.max(a, b);
+        }
+    }
+
+    //按下标取值
+    public long get(int index) {
+        if (index < 0 || index >= n)
+            throw new IllegalArgumentException("Illegal Index");
+        return tree[n + index];
+    }
+
+    //更新index位置的值为e
+    public void set(int index, long e) {
+        if (index < 0 || index >= n)
+            throw new IllegalArgumentException("Index is illegal");
+
+        int i = n + index;
+        tree[i] = e;
+        for (i >>= 1; i >= 1; i >>= 1)
+            tree[i] = merge(tree[2 * i], tree[2 * i + 1]);
+    }
+
+    //index位置的值加上delta
+    public void add(int index, long delta) {
+        set(index, get(index) + delta);
+    }
+
+    //查询[queryL...queryR]区间的值
+    public long query(int queryL, int queryR) {
+        if (queryL < 0 || queryL >= n || queryR < 0 || queryR >= n || queryL > queryR)
+            throw new IllegalArgumentException("Index is illegal.");
+
+        switch (mode) {
+            case SUM:
+                return querySum(queryL + n, queryR + n + 1);
+            case MIN:
+                return queryMin(queryL + n, queryR + n + 1);
+            default:
+                return queryMax(queryL + n, queryR + n + 1);
+        }
+    }
+
+    // 以下三个查询的区间都是叶子下标的左闭右开区间[l, r)
+    private long querySum(int l, int r) {
+        long[] tree = this.tree;
+        long res = 0;
+        for (; l < r; l >>= 1, r >>= 1) {
+            if ((l & 1) == 1)
+                res += tree[l++];
+            if ((r & 1) == 1)
+                res += tree[--r];
+        }
+        return res;
+    }
+
+    private long queryMin(int l, int r) {
+        long[] tree = this.tree;
+        long res = Long.MAX_VALUE;
+        for (; l < r; l >>= 1, r >>= 1) {
+            if ((l & 1) == 1)
+                res = Math.min(res, tree[l++]);
+            if ((r & 1) == 1)
+                res = Math.min(res, tree[--r]);
+        }
+        return res;
+    }
+
+    private long queryMax(int l, int r) {
+        long[] tree = this.tree;
+        long res = Long.MIN_VALUE;
+        for (; l < r; l >>= 1, r >>= 1) {
+            if ((l & 1) == 1)
+                res = Math.max(res, tree[l++]);
+            if ((r & 1) == 1)
+                res = Math.max(res, tree[--r]);
+        }
+        return res;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder res = new StringBuilder();
+        res.append(mode).append(" [");
+        for (int i = 0; i < n; i++) {
+            res.append(tree[n + i]);
+            if (i != n - 1)
+                res.append(", ");
+        }
+        res.append("]");
+        return res.toString();
+    }
+
+    //测试函数
+    public static void main(String[] args) {
+        long[] nums = {-2, 0, 3, -5, 2, -1};
+        LongSegmentTree segTree = new LongSegmentTree(nums, SegmentTreeMode.SUM);
+        System.out.println(segTree);
+        System.out.println(segTree.query(2, 5));
+
+        // 每种融合方式、各种大小(包括不是2的幂的)下与暴力做法对比
+        Random random = new Random();
+        for (SegmentTreeMode mode : SegmentTreeMode.values())
+            for (int n = 1; n <= 100; n++) {
+                long[] arr = new long[n];
+                for (int i = 0; i < n; i++)
+                    arr[i] = random.nextInt(2001) - 1000;
+                LongSegmentTree tree = new LongSegmentTree(arr, mode);
+                for (int k = 0; k < 1000; k++) {
+                    int l = random.nextInt(n), r = l + random.nextInt(n - l);
+                    if (random.nextBoolean()) {
+                        arr[l] = random.nextInt(2001) - 1000;
+                        tree.set(l, arr[l]);
+                    }
+                    long expected = arr[l];
+                    for (int i = l + 1; i <= r; i++)
+                        expected = mode == SegmentTreeMode.SUM ? expected + arr[i]
+                                : mode == SegmentTreeMode.MIN ? Math.min(expected, arr[i]) : Math.max(expected, arr[i]);
+                    if (tree.query(l, r) != expected)
+                        throw new IllegalArgumentException("Error");
+                }
+            }
+        System.out.println("Good Job!");
+    }
+}
@@ -0,0 +1,148 @@
+package datastructure;
+
+import java.util.HashSet;
+import java.util.Random;
+
+// 元素为long的开放寻址集合，元素直接存放在long数组中，不需要装箱
+// 0用来表示空槽位，所以元素0单独用一个标记记录
+public class LongSet {
+
+    private static final double MAX_LOAD_FACTOR = 0.5;
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private long[] keys;
+    private int mask;
+    private int size;
+
+    private boolean hasZero;
+
+    public LongSet(int capacity) {
+        capacity = tableSizeFor(Math.max(capacity, 2));
+        keys = new long[capacity];
+        mask = capacity - 1;
+        size = 0;
+    }
+
+    public LongSet() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    // 返回不小于n的最小的2的幂
+    private static int tableSizeFor(int n) {
+        int capacity = Integer.highestOneBit(n - 1) << 1;
+        if (capacity <= 0)
+            throw new IllegalArgumentException("capacity is too large");
+        return capacity;
+    }
+
+    private int hash(long key) {
+        int h = (int) (key ^ (key >>> 32)) * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    // 返回e所在的槽位，若不存在则返回探测路径上遇到的第一个空槽位
+    private int slotOf(long e) {
+        int i = hash(e);
+        while (keys[i] != 0 && keys[i] != e)
+            i = (i + 1) & mask;
+        return i;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(long e) {
+        if (e == 0)
+            return hasZero;
+        return keys[slotOf(e)] != 0;
+    }
+
+    // 添加元素e，返回e之前是否不在集合中
+    public boolean add(long e) {
+        if (e == 0) {
+            if (hasZero)
+                return false;
+            hasZero = true;
+            size++;
+            return true;
+        }
+        int i = slotOf(e);
+        if (keys[i] != 0)
+            return false;
+        keys[i] = e;
+        size++;
+        if (size >= keys.length * MAX_LOAD_FACTOR)
+            resize(keys.length * 2);
+        return true;
+    }
+
+    // 删除元素e，返回e之前是否在集合中
+    public boolean remove(long e) {
+        if (e == 0) {
+            if (!hasZero)
+                return false;
+            hasZero = false;
+            size--;
+            return true;
+        }
+        int i = slotOf(e);
+        if (keys[i] == 0)
+            return false;
+        deleteSlot(i);
+        size--;
+        return true;
+    }
+
+    // 删除槽位i上的元素，把同一簇后面可以前移的元素搬过来填补空位
+    private void deleteSlot(int i) {
+        int j = i;
+        while (true) {
+            j = (j + 1) & mask;
+            if (keys[j] == 0)
+                break;
+            int home = hash(keys[j]);
+            if (((j - home) & mask) >= ((j - i) & mask)) {
+                keys[i] = keys[j];
+                i = j;
+            }
+        }
+        keys[i] = 0;
+    }
+
+    private void resize(int newCapacity) {
+        long[] oldKeys = keys;
+        keys = new long[newCapacity];
+        mask = newCapacity - 1;
+        for (int i = 0; i < oldKeys.length; i++)
+            if (oldKeys[i] != 0)
+                keys[slotOf(oldKeys[i])] = oldKeys[i];
+    }
+
+    public static void main(String[] args) {
+        int n = 1000000;
+        Random random = new Random();
+        long[] arr = new long[n];
+        for (int i = 0; i < n; i++)
+            arr[i] = random.nextInt(n) * 0x100000001L - n / 2;
+
+        LongSet set = new LongSet();
+        HashSet<Long> ref = new HashSet<>();
+        for (long e : arr)
+            if (set.add(e) != ref.add(e))
+                throw new RuntimeException("Error");
+        for (int i = 0; i < n; i += 2)
+            if (set.remove(arr[i]) != ref.remove(arr[i]))
+                throw new RuntimeException("Error");
+        if (set.getSize() != ref.size())
+            throw new RuntimeException("Error");
+        for (long e : arr)
+            if (set.contains(e) != ref.contains(e))
+                throw new RuntimeException("Error");
+        System.out.println("OK");
+    }
+}
@@ -0,0 +1,171 @@
+package datastructure;
+
+import java.util.ArrayDeque;
+import java.util.Random;
+
+// 用循环数组实现的双端队列，两端的添加和删除都是均摊O(1)
+// 容量总是2的幂，下标用(head + i) & mask计算，不需要取模；
+// 元素从head开始连续存放size个(可能绕回数组开头)，两端操作只移动head或改变size，不搬动其他元素，
+// 只有扩容和缩容时才复制一次数组
+public class LoopDeque<E> {
+
+    private static final int MIN_CAPACITY = 8;
+
+    private E[] data;
+    private int head;
+    private int size;
+
+    // capacity会向上取整为2的幂
+    @SuppressWarnings("unchecked")
+    public LoopDeque(int capacity) {
+        int n = MIN_CAPACITY;
+        while (n < capacity) {
+            n <<= 1;
+            if (n <= 0)
+                throw new IllegalArgumentException("capacity is too large");
+        }
+        data = (E[]) new Object[n];
+        head = 0;
+        size = 0;
+    }
+
+    public LoopDeque() {
+        this(MIN_CAPACITY);
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int getCapacity() {
+        return data.length;
+    }
+
+    // 在队首添加元素
+    public void addFirst(E e) {
+        if (size == data.length)
+            resize(data.length << 1);
+        head = (head - 1) & (data.length - 1);
+        data[head] = e;
+        size++;
+    }
+
+    // 在队尾添加元素
+    public void addLast(E e) {
+        if (size == data.length)
+            resize(data.length << 1);
+        data[(head + size) & (data.length - 1)] = e;
+        size++;
+    }
+
+    // 删除并返回队首元素
+    public E removeFirst() {
+        if (size == 0)
+            throw new IllegalArgumentException("Remove failed. Deque is empty.");
+        E ret = data[head];
+        data[head] = null;
+        head = (head + 1) & (data.length - 1);
+        size--;
+        shrinkIfSparse();
+        return ret;
+    }
+
+    // 删除并返回队尾元素
+    public E removeLast() {
+        if (size == 0)
+            throw new IllegalArgumentException("Remove failed. Deque is empty.");
+        int i = (head + size - 1) & (data.length - 1);
+        E ret = data[i];
+        data[i] = null;
+        size--;
+        shrinkIfSparse();
+        return ret;
+    }
+
+    public E getFirst() {
+        if (size == 0)
+            throw new IllegalArgumentException("Get failed. Deque is empty.");
+        return data[head];
+    }
+
+    public E getLast() {
+        if (size == 0)
+            throw new IllegalArgumentException("Get failed. Deque is empty.");
+        return data[(head + size - 1) & (data.length - 1)];
+    }
+
+    // 返回从队首数起第index个元素
+    public E get(int index) {
+        if (index < 0 || index >= size)
+            throw new IllegalArgumentException("Get failed. Illegal index.");
+        return data[(head + index) & (data.length - 1)];
+    }
+
+    // 与Array一样，元素只剩容量的1/4时缩容一半，避免在扩容的边界上反复复制
+    private void shrinkIfSparse() {
+        if (size == data.length / 4 && data.length / 2 >= MIN_CAPACITY)
+            resize(data.length / 2);
+    }
+
+    // 把元素按顺序搬到新数组的开头，最多分成绕回前后两段复制
+    @SuppressWarnings("unchecked")
+    private void resize(int newCapacity) {
+        if (newCapacity <= 0)
+            throw new IllegalArgumentException("capacity is too large");
+        E[] newData = (E[]) new Object[newCapacity];
+        int firstPart = Math.min(size, data.length - head);
+        System.arraycopy(data, head, newData, 0, firstPart);
+        System.arraycopy(data, 0, newData, firstPart, size - firstPart);
+        data = newData;
+        head = 0;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder res = new StringBuilder();
+        res.append(String.format("Deque: size = %d, capacity = %d\n", size, data.length));
+        res.append("front [");
+        for (int i = 0; i < size; i++) {
+            res.append(get(i));
+            if (i != size - 1)
+                res.append(", ");
+        }
+        res.append("] tail");
+        return res.toString();
+    }
+
+    public static void main(String[] args) {
+        // 随机地在两端添加和删除，与java.util.ArrayDeque对比
+        Random random = new Random();
+        LoopDeque<Integer> deque = new LoopDeque<>();
+        ArrayDeque<Integer> expected = new ArrayDeque<>();
+        for (int i = 0; i < 1000000; i++) {
+            int op = random.nextInt(i % 200000 < 100000 ? 6 : 4);
+            if (op == 0) {
+                deque.addFirst(i);
+                expected.addFirst(i);
+            } else if (op == 1) {
+                deque.addLast(i);
+                expected.addLast(i);
+            } else if (!expected.isEmpty() && op == 2) {
+                if (!deque.removeFirst().equals(expected.removeFirst()))
+                    throw new IllegalArgumentException("Error");
+            } else if (!expected.isEmpty() && op == 3) {
+                if (!deque.removeLast().equals(expected.removeLast()))
+                    throw new IllegalArgumentException("Error");
+            } else if (op >= 4) {
+                deque.addLast(i);
+                expected.addLast(i);
+            }
+            if (deque.getSize() != expected.size())
+                throw new IllegalArgumentException("Error");
+            if (!expected.isEmpty() && (!deque.getFirst().equals(expected.getFirst()) || !deque.getLast().equals(expected.getLast())))
+                throw new IllegalArgumentException("Error");
+        }
+        System.out.println("Good Job!");
+    }
+}
@@ -1,3 +1,5 @@
+package datastructure;
+
 public class LoopQueue<E> implements Queue<E> {
     private E[] data;
     private int front, tail;
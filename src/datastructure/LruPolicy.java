@@ -0,0 +1,37 @@
+package datastructure;
+
+// 最近最少使用：淘汰最久没有被访问的key
+// 直接用访问顺序的LinkedHashMap记录每个key的权重，头部就是最久没有访问的key
+public class LruPolicy<K> implements EvictionPolicy<K> {
+
+    private LinkedHashMap<K, Long> weights;
+
+    public LruPolicy() {
+        weights = new LinkedHashMap<>(true);
+    }
+
+    @Override
+    public void onInsert(K key, long weight) {
+        weights.add(key, weight);
+    }
+
+    @Override
+    public void onAccess(K key) {
+        weights.get(key);
+    }
+
+    @Override
+    public void onUpdate(K key, long weight) {
+        weights.set(key, weight);
+    }
+
+    @Override
+    public long onRemove(K key) {
+        return weights.remove(key);
+    }
+
+    @Override
+    public K victim() {
+        return weights.getEldestKey();
+    }
+}
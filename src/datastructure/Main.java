@@ -0,0 +1,138 @@
+package datastructure;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+
+public class Main {
+
+    // 参数：--parallel[=线程数] 额外运行并行计数，和串行的流式计数比较
+    public static void main(String[] args) {
+
+        int threads = 0;
+        for (String arg : args) {
+            if (arg.equals("--parallel"))
+                threads = Runtime.getRuntime().availableProcessors();
+            else if (arg.startsWith("--parallel="))
+                threads = Integer.parseInt(arg.substring("--parallel=".length()));
+            else
+                throw new IllegalArgumentException("Unknown argument " + arg);
+        }
+
+        System.out.println("Pride and Prejudice");
+
+        ArrayList<String> words = new ArrayList<>();
+        if(FileOperation.readFile("pride-and-prejudice.txt", words)) {
+            System.out.println("Total words: " + words.size());
+
+            // Collections.sort(words);
+
+            // Test BST
+            long startTime = System.nanoTime();
+
+            BST_KV<String, Integer> bst = new BST_KV<>();
+            for (String word : words)
+                bst.merge(word, 1, (a, b) -> a + b);
+
+            for(String word: words)
+                bst.contains(word);
+
+            long endTime = System.nanoTime();
+
+            double time = (endTime - startTime) / 1000000000.0;
+            System.out.println("BST: " + time + " s");
+
+
+            // Test AVL Tree
+            startTime = System.nanoTime();
+
+            AVLTree<String, Integer> avl = new AVLTree<>();
+            for (String word : words)
+                avl.merge(word, 1, (a, b) -> a + b);
+
+            for(String word: words)
+                avl.contains(word);
+
+            endTime = System.nanoTime();
+
+            time = (endTime - startTime) / 1000000000.0;
+            System.out.println("AVL: " + time + " s");
+
+
+            // Test HashTable
+            startTime = System.nanoTime();
+
+            HashTable<String, Integer> ht = new HashTable<>();
+            for (String word : words)
+                ht.merge(word, 1, (a, b) -> a + b);
+
+            for(String word: words)
+                ht.contains(word);
+
+            endTime = System.nanoTime();
+
+            time = (endTime - startTime) / 1000000000.0;
+            System.out.println("HashTable: " + time + " s");
+
+
+            // Test ObjectIntHashMap
+            startTime = System.nanoTime();
+
+            ObjectIntHashMap<String> counter = new ObjectIntHashMap<>();
+            for (String word : words)
+                counter.increment(word);
+
+            for(String word: words)
+                counter.contains(word);
+
+            endTime = System.nanoTime();
+
+            time = (endTime - startTime) / 1000000000.0;
+            System.out.println("ObjectIntHashMap: " + time + " s");
+
+
+            // Test streaming count, including tokenizing the file
+            startTime = System.nanoTime();
+
+            ObjectIntHashMap<String> streamed;
+            try {
+                streamed = FileOperation.countWords("pride-and-prejudice.txt");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            endTime = System.nanoTime();
+
+            time = (endTime - startTime) / 1000000000.0;
+            System.out.println("Streaming ObjectIntHashMap: " + time + " s, different words: " + streamed.getSize());
+
+
+            // Test parallel count
+            if (threads > 0) {
+                startTime = System.nanoTime();
+
+                HashTable<String, Integer> parallel;
+                try {
+                    parallel = ParallelWordCount.count("pride-and-prejudice.txt", threads);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+
+                endTime = System.nanoTime();
+
+                time = (endTime - startTime) / 1000000000.0;
+                System.out.println("Parallel (" + threads + " threads): " + time + " s, different words: " + parallel.getSize());
+
+                if (parallel.getSize() != streamed.getSize())
+                    throw new RuntimeException("Error");
+                parallel.forEach((word, count) -> {
+                    if (streamed.get(word) != count)
+                        throw new RuntimeException("Error");
+                });
+            }
+        }
+
+        System.out.println();
+    }
+}
@@ -0,0 +1,26 @@
+package datastructure;
+
+import java.util.function.Function;
+
+public interface Map<K, V> {
+
+    void add(K key, V value);
+
+    V remove(K key);
+
+    boolean contains(K key);
+
+    V get(K key);
+
+    void set(K key, V newValue);
+
+    // 若key不存在则添加(key, value)，否则将key对应的值更新为merger.merge(旧值, value)
+    void merge(K key, V value, Merger<V> merger);
+
+    // 若key不存在则添加(key, mappingFunction.apply(key))，返回key对应的值
+    V computeIfAbsent(K key, Function<K, V> mappingFunction);
+
+    int getSize();
+
+    boolean isEmpty();
+}
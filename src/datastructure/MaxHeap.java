@@ -0,0 +1,221 @@
+package datastructure;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+// 用数组表示的d叉最大堆，"最大"由comparator决定，没有传入comparator时按元素的自然顺序
+// 元素直接存放在Object数组中，上浮和下沉时不交换元素，而是把待放置的元素拿在手里，
+// 沿路径把父亲(或较大的孩子)移到空位上，最后把元素放进空位，每层只写一次数组
+// 叉数越大树越矮，一次下沉要比较的孩子在数组中相邻，d = 4时通常比二叉堆快
+// 叉数必须是2的幂
+public class MaxHeap<E> {
+
+    private static final int DEFAULT_CAPACITY = 10;
+    private static final int DEFAULT_ARITY = 4;
+
+    private Object[] data;
+    private int size;
+    private int arity;
+    // arity = 1 << shift，求父亲和孩子的下标时用移位代替除法和乘法
+    private int shift;
+    private Comparator<? super E> comparator;
+
+    public MaxHeap(int capacity, int arity, Comparator<? super E> comparator) {
+        if (capacity < 0)
+            throw new IllegalArgumentException("capacity must be non-negative");
+        if (arity < 2 || (arity & (arity - 1)) != 0)
+            throw new IllegalArgumentException("arity must be a power of 2");
+        data = new Object[Math.max(capacity, 1)];
+        size = 0;
+        this.arity = arity;
+        shift = Integer.numberOfTrailingZeros(arity);
+        this.comparator = comparator == null ? naturalOrder() : comparator;
+    }
+
+    public MaxHeap(int capacity, Comparator<? super E> comparator) {
+        this(capacity, DEFAULT_ARITY, comparator);
+    }
+
+    public MaxHeap(Comparator<? super E> comparator) {
+        this(DEFAULT_CAPACITY, DEFAULT_ARITY, comparator);
+    }
+
+    public MaxHeap(int capacity) {
+        this(capacity, DEFAULT_ARITY, null);
+    }
+
+    public MaxHeap() {
+        this(DEFAULT_CAPACITY, DEFAULT_ARITY, null);
+    }
+
+    //将任意数组整理成堆的形状
+    public MaxHeap(E[] arr, int arity, Comparator<? super E> comparator) {
+        this(arr.length, arity, comparator);
+        System.arraycopy(arr, 0, data, 0, arr.length);
+        size = arr.length;
+        if (size > 1)
+            for (int i = parent(size - 1); i >= 0; i--)
+                siftDown(i, elementAt(i));
+    }
+
+    public MaxHeap(E[] arr) {
+        this(arr, DEFAULT_ARITY, null);
+    }
+
+    // 元素必须实现Comparable，否则在第一次比较时抛出ClassCastException
+    @SuppressWarnings("unchecked")
+    private static <E> Comparator<E> naturalOrder() {
+        return (a, b) -> ((Comparable<? super E>) a).compareTo(b);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int getArity() {
+        return arity;
+    }
+
+    @SuppressWarnings("unchecked")
+    private E elementAt(int index) {
+        return (E) data[index];
+    }
+
+    //返回d叉树数组中，索引元素的父亲元素的索引
+    private int parent(int index) {
+        if (index == 0)
+            throw new IllegalArgumentException("index 0 has no parent");
+        return (index - 1) >>> shift;
+    }
+
+    //向堆中添加元素
+    public void add(E e) {
+        if (size == data.length)
+            data = Arrays.copyOf(data, data.length * 2);
+        siftUp(size++, e);
+    }
+
+    //把e放到空位k上并上浮：比e小的祖先依次下移一层，直到找到e的位置
+    //热点路径上把字段读到局部变量中，避免每次比较之后都重新读取
+    @SuppressWarnings("unchecked")
+    private void siftUp(int k, E e) {
+        Object[] data = this.data;
+        int shift = this.shift;
+        Comparator<? super E> comparator = this.comparator;
+        while (k > 0) {
+            int p = (k - 1) >>> shift;
+            Object parent = data[p];
+            if (comparator.compare((E) parent, e) >= 0)
+                break;
+            data[k] = parent;
+            k = p;
+        }
+        data[k] = e;
+    }
+
+    //看堆中最大的元素
+    public E findMax() {
+        if (size == 0)
+            throw new IllegalArgumentException("empty heap");
+        return elementAt(0);
+    }
+
+    //取出堆中的最大元素，用最后一个元素填补根的空位并下沉
+    public E extractMax() {
+        E ret = findMax();
+        size--;
+        E last = elementAt(size);
+        data[size] = null;
+        if (size > 0)
+            siftDown(0, last);
+        return ret;
+    }
+
+    //把e放到空位k上并下沉：最大的孩子比e大时把它上移一层，直到e不小于所有孩子
+    //k的第一个孩子是(k << shift) + 1，其余孩子紧随其后，一次下沉每层只访问一段连续的内存
+    @SuppressWarnings("unchecked")
+    private void siftDown(int k, E e) {
+        Object[] data = this.data;
+        int size = this.size, arity = this.arity, shift = this.shift;
+        Comparator<? super E> comparator = this.comparator;
+        int c;
+        while ((c = (k << shift) + 1) < size) {
+            int end = Math.min(c + arity, size);
+            int best = c;
+            Object max = data[c];
+            for (int j = c + 1; j < end; j++)
+                if (comparator.compare((E) data[j], (E) max) > 0)
+                    max = data[best = j];
+            if (comparator.compare(e, (E) max) >= 0)
+                break;
+            data[k] = max;
+            k = best;
+        }
+        data[k] = e;
+    }
+
+    //取出最大元素，并替换成e
+    /*
+     此处采用 先取出最大值，然后用新的值覆盖最大值位置的值，并进行siftDown操作
+     整体的操作是LogN级别的，比先取出最大值再添加新值效率要高
+     */
+    public E replace(E e) {
+        E ret = findMax();
+        siftDown(0, e);
+        return ret;
+    }
+
+    // 检查每个元素都不小于它的孩子
+    public boolean isHeap() {
+        for (int i = 1; i < size; i++)
+            if (comparator.compare(elementAt(parent(i)), elementAt(i)) < 0)
+                return false;
+        return true;
+    }
+
+
+    public static void main(String[] args) {
+        int n = 100000;
+        Random random = new Random();
+        for (int arity = 2; arity <= 16; arity *= 2) {
+            MaxHeap<Integer> maxHeap = new MaxHeap<>(0, arity, null);
+            for (int i = 0; i < n; i++) {
+                maxHeap.add(random.nextInt(Integer.MAX_VALUE));
+            }
+            if (!maxHeap.isHeap())
+                throw new IllegalArgumentException("Error");
+            int[] arr = new int[n];
+            for (int i = 0; i < n; i++) {
+                arr[i] = maxHeap.extractMax();
+            }
+            for (int i = 1; i < n; i++)
+                if (arr[i - 1] < arr[i])
+                    throw new IllegalArgumentException("Error");
+
+            // 用comparator得到最小堆，并检查heapify和replace
+            Integer[] data = new Integer[n];
+            for (int i = 0; i < n; i++)
+                data[i] = random.nextInt(1000);
+            MaxHeap<Integer> minHeap = new MaxHeap<>(data, arity, Comparator.reverseOrder());
+            if (!minHeap.isHeap())
+                throw new IllegalArgumentException("Error");
+            for (int i = 0; i < n; i++)
+                minHeap.replace(random.nextInt(1000));
+            int prev = Integer.MIN_VALUE;
+            while (!minHeap.isEmpty()) {
+                int e = minHeap.extractMax();
+                if (e < prev)
+                    throw new IllegalArgumentException("Error");
+                prev = e;
+            }
+        }
+        System.out.println("Good Job!");
+    }
+
+
+}
@@ -1,3 +1,5 @@
+package datastructure;
+
 public interface Merger<E> {
     E merge(E a,E b);
 }
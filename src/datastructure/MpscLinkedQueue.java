@@ -0,0 +1,179 @@
+package datastructure;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+// 多生产者单消费者的无锁链表队列(Vyukov的MPSC队列)
+// 与LinkedListQueue一样用head、tail两个指针，但head始终指向一个不存放元素的哨兵节点，队首元素在head.next中：
+// 生产者用一次原子的getAndSet把新节点换成tail，再把旧tail的next指向新节点，不需要CAS重试，也不会失败；
+// 只有消费者移动head，出队后刚取出元素的节点成为新的哨兵，出队不分配也不丢弃额外的节点
+// 生产者换了tail但还没有链上next的短暂时刻，消费者会看到next为null而tail不是head，此时等待生产者完成
+// 可以有任意多个线程同时enqueue，但同一时刻只能有一个线程dequeue
+public class MpscLinkedQueue<E> implements Queue<E> {
+
+    private static class Node<E> {
+        public E e;
+        public Node<E> next;
+
+        public Node(E e) {
+            this.e = e;
+            next = null;
+        }
+    }
+
+    private static final VarHandle TAIL;
+    private static final VarHandle NEXT;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            TAIL = lookup.findVarHandle(MpscLinkedQueue.class, "tail", Node.class);
+            NEXT = lookup.findVarHandle(Node.class, "next", Node.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    // 只有消费者读写head
+    private Node<E> head;
+    private Node<E> tail;
+
+    public MpscLinkedQueue() {
+        Node<E> stub = new Node<>(null);
+        head = stub;
+        tail = stub;
+    }
+
+    // 遍历整个队列计数，时间复杂度O(n)，只能由消费者调用，并发时只是一个近似值
+    @Override
+    public int getSize() {
+        int size = 0;
+        for (Node<E> cur = next(head); cur != null && size < Integer.MAX_VALUE; cur = next(cur))
+            size++;
+        return size;
+    }
+
+    // 只能由消费者调用
+    @Override
+    public boolean isEmpty() {
+        return head == TAIL.getAcquire(this);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Node<E> next(Node<E> node) {
+        return (Node<E>) NEXT.getAcquire(node);
+    }
+
+    // 生产者：在队尾加入e，总是成功
+    @SuppressWarnings("unchecked")
+    public boolean offer(E e) {
+        if (e == null)
+            throw new IllegalArgumentException("Element can not be null");
+
+        Node<E> node = new Node<>(e);
+        Node<E> prev = (Node<E>) TAIL.getAndSet(this, node);
+        NEXT.setRelease(prev, node);
+        return true;
+    }
+
+    // 返回head的下一个节点，队列为空时返回null
+    // next为null但tail不是head时，说明有生产者正在链接新节点，让出CPU等它完成
+    private Node<E> first() {
+        Node<E> next = next(head);
+        if (next == null && head != TAIL.getAcquire(this))
+            while ((next = next(head)) == null)
+                Thread.yield();
+        return next;
+    }
+
+    // 消费者：取出队首元素，队列为空时返回null
+    public E poll() {
+        Node<E> next = first();
+        if (next == null)
+            return null;
+
+        E ret = next.e;
+        next.e = null;
+        // 旧的哨兵节点不再被引用，断开它的next，避免它晋升到老年代后拖住后面的节点
+        head.next = null;
+        head = next;
+        return ret;
+    }
+
+    // 消费者：查看队首元素，队列为空时返回null
+    public E peek() {
+        Node<E> next = first();
+        return next == null ? null : next.e;
+    }
+
+    @Override
+    public void enqueue(E e) {
+        offer(e);
+    }
+
+    @Override
+    public E dequeue() {
+        E ret = poll();
+        if (ret == null)
+            throw new IllegalArgumentException("Can not dequeue from an empty queue");
+        return ret;
+    }
+
+    @Override
+    public E getFront() {
+        E ret = peek();
+        if (ret == null)
+            throw new IllegalArgumentException("Queue is empty");
+        return ret;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        MpscLinkedQueue<Integer> queue = new MpscLinkedQueue<>();
+        for (int i = 0; i < 10; i++)
+            queue.enqueue(i);
+        if (queue.getSize() != 10 || queue.getFront() != 0)
+            throw new RuntimeException("Error");
+        for (int i = 0; i < 10; i++)
+            if (queue.dequeue() != i)
+                throw new RuntimeException("Error");
+        if (!queue.isEmpty() || queue.poll() != null)
+            throw new RuntimeException("Error");
+
+        // 多个生产者并发入队，每个生产者的元素编码为 生产者编号 * n + 序号，
+        // 消费者检查总数以及每个生产者的元素保持了入队的顺序
+        int producers = 4, n = 1000000;
+        MpscLinkedQueue<Long> mpsc = new MpscLinkedQueue<>();
+        Thread[] threads = new Thread[producers];
+        for (int p = 0; p < producers; p++) {
+            long base = (long) p * n;
+            threads[p] = new Thread(() -> {
+                for (int i = 0; i < n; i++)
+                    mpsc.offer(base + i);
+            });
+        }
+
+        long startTime = System.nanoTime();
+        for (Thread thread : threads)
+            thread.start();
+        long[] expected = new long[producers];
+        for (int received = 0; received < producers * n; ) {
+            Long e = mpsc.poll();
+            if (e == null) {
+                Thread.yield();
+                continue;
+            }
+            int p = (int) (e / n);
+            if (e % n != expected[p]++)
+                throw new RuntimeException("Error");
+            received++;
+        }
+        for (Thread thread : threads)
+            thread.join();
+        if (!mpsc.isEmpty())
+            throw new RuntimeException("Error");
+
+        double time = (System.nanoTime() - startTime) / 1000000000.0;
+        System.out.println(producers + " producers, " + producers * n + " elements: " + time + " s");
+        System.out.println("OK");
+    }
+}
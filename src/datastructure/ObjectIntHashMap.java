@@ -0,0 +1,181 @@
+package datastructure;
+
+import java.util.ArrayList;
+
+// key为对象、value为int的开放寻址哈希表，主要用来做计数(例如单词 -> 出现次数)
+// value存放在int数组中，increment/addTo不会像Map<K, Integer>那样每次都装箱出一个新的Integer
+public class ObjectIntHashMap<K> {
+
+    private static final double MAX_LOAD_FACTOR = 0.5;
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private K[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public ObjectIntHashMap(int capacity) {
+        capacity = tableSizeFor(Math.max(capacity, 2));
+        keys = (K[]) new Object[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        size = 0;
+    }
+
+    public ObjectIntHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    // 返回不小于n的最小的2的幂
+    private static int tableSizeFor(int n) {
+        int capacity = Integer.highestOneBit(n - 1) << 1;
+        if (capacity <= 0)
+            throw new IllegalArgumentException("capacity is too large");
+        return capacity;
+    }
+
+    private int hash(K key) {
+        int h = key.hashCode() * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    // 返回key所在的槽位，若不存在则返回探测路径上遇到的第一个空槽位
+    private int slotOf(K key) {
+        int i = hash(key);
+        while (keys[i] != null && !keys[i].equals(key))
+            i = (i + 1) & mask;
+        return i;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(K key) {
+        return keys[slotOf(key)] != null;
+    }
+
+    // 返回key对应的值，key不存在时返回0
+    public int get(K key) {
+        return values[slotOf(key)];
+    }
+
+    // 添加(key, value)，若key已存在则覆盖原来的值
+    public void add(K key, int value) {
+        int i = slotOf(key);
+        if (keys[i] != null) {
+            values[i] = value;
+            return;
+        }
+        insertAt(i, key, value);
+    }
+
+    public void set(K key, int value) {
+        int i = slotOf(key);
+        if (keys[i] == null)
+            throw new IllegalArgumentException(key + " doesn't exist!");
+        values[i] = value;
+    }
+
+    // 把key对应的值加上delta，key不存在时视为0，返回相加后的值
+    public int addTo(K key, int delta) {
+        int i = slotOf(key);
+        if (keys[i] != null)
+            return values[i] += delta;
+        insertAt(i, key, delta);
+        return delta;
+    }
+
+    public int increment(K key) {
+        return addTo(key, 1);
+    }
+
+    // 删除key，返回被删除的值，key不存在时返回0
+    public int remove(K key) {
+        int i = slotOf(key);
+        if (keys[i] == null)
+            return 0;
+        int ret = values[i];
+        deleteSlot(i);
+        size--;
+        return ret;
+    }
+
+    private void insertAt(int i, K key, int value) {
+        keys[i] = key;
+        values[i] = value;
+        size++;
+        if (size >= keys.length * MAX_LOAD_FACTOR)
+            resize(keys.length * 2);
+    }
+
+    // 删除槽位i上的元素，把同一簇后面可以前移的元素搬过来填补空位
+    private void deleteSlot(int i) {
+        int j = i;
+        while (true) {
+            j = (j + 1) & mask;
+            if (keys[j] == null)
+                break;
+            int home = hash(keys[j]);
+            if (((j - home) & mask) >= ((j - i) & mask)) {
+                keys[i] = keys[j];
+                values[i] = values[j];
+                i = j;
+            }
+        }
+        keys[i] = null;
+        values[i] = 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void resize(int newCapacity) {
+        K[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = (K[]) new Object[newCapacity];
+        values = new int[newCapacity];
+        mask = newCapacity - 1;
+        for (int i = 0; i < oldKeys.length; i++)
+            if (oldKeys[i] != null) {
+                int j = slotOf(oldKeys[i]);
+                keys[j] = oldKeys[i];
+                values[j] = oldValues[i];
+            }
+    }
+
+    public static void main(String[] args) {
+
+        System.out.println("Pride and Prejudice");
+
+        ArrayList<String> words = new ArrayList<>();
+        if (FileOperation.readFile("pride-and-prejudice.txt", words)) {
+            System.out.println("Total words: " + words.size());
+
+            ObjectIntHashMap<String> map = new ObjectIntHashMap<>();
+            for (String word : words)
+                map.increment(word);
+
+            System.out.println("Total different words: " + map.getSize());
+            System.out.println("Frequency of PRIDE: " + map.get("pride"));
+            System.out.println("Frequency of PREJUDICE: " + map.get("prejudice"));
+
+            BSTMap<String, Integer> bst = new BSTMap<>();
+            for (String word : words) {
+                if (bst.contains(word))
+                    bst.set(word, bst.get(word) + 1);
+                else
+                    bst.add(word, 1);
+            }
+            if (map.getSize() != bst.getSize())
+                throw new RuntimeException("Error");
+            for (String word : words)
+                if (map.get(word) != bst.get(word))
+                    throw new RuntimeException("Error");
+        }
+        System.out.println("OK");
+    }
+}
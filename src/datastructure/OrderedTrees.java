@@ -0,0 +1,137 @@
+package datastructure;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+// BSTMap、AVLTree、RBTree共用的有序操作：floor、ceiling、rank、select和range
+// 这些操作只需要读节点的key、左右孩子和子树大小，与树如何保持平衡无关，
+// 每棵树提供一个Nodes告诉这里如何读取它自己的节点
+final class OrderedTrees {
+
+    private OrderedTrees() {
+    }
+
+    // 读取树节点的方式，size(null)必须返回0
+    interface Nodes<N, K> {
+        K key(N node);
+
+        N left(N node);
+
+        N right(N node);
+
+        int size(N node);
+    }
+
+    // 返回以root为根的树中小于等于key的最大的键，不存在时返回null
+    static <N, K extends Comparable<K>> K floor(N root, K key, Nodes<N, K> nodes) {
+        K ret = null;
+        N cur = root;
+        while (cur != null) {
+            int cmp = key.compareTo(nodes.key(cur));
+            if (cmp == 0)
+                return nodes.key(cur);
+            if (cmp < 0)
+                cur = nodes.left(cur);
+            else {
+                ret = nodes.key(cur);
+                cur = nodes.right(cur);
+            }
+        }
+        return ret;
+    }
+
+    // 返回以root为根的树中大于等于key的最小的键，不存在时返回null
+    static <N, K extends Comparable<K>> K ceiling(N root, K key, Nodes<N, K> nodes) {
+        K ret = null;
+        N cur = root;
+        while (cur != null) {
+            int cmp = key.compareTo(nodes.key(cur));
+            if (cmp == 0)
+                return nodes.key(cur);
+            if (cmp > 0)
+                cur = nodes.right(cur);
+            else {
+                ret = nodes.key(cur);
+                cur = nodes.left(cur);
+            }
+        }
+        return ret;
+    }
+
+    // 返回以root为根的树中小于key的键的个数，即key的排名(从0开始)
+    static <N, K extends Comparable<K>> int rank(N root, K key, Nodes<N, K> nodes) {
+        int ret = 0;
+        N cur = root;
+        while (cur != null) {
+            int cmp = key.compareTo(nodes.key(cur));
+            if (cmp < 0)
+                cur = nodes.left(cur);
+            else if (cmp > 0) {
+                ret += nodes.size(nodes.left(cur)) + 1;
+                cur = nodes.right(cur);
+            } else
+                return ret + nodes.size(nodes.left(cur));
+        }
+        return ret;
+    }
+
+    // 返回以root为根的树中排名为k(从0开始)的键
+    static <N, K> K select(N root, int k, Nodes<N, K> nodes) {
+        if (k < 0 || k >= nodes.size(root))
+            throw new IllegalArgumentException("Select failed. Illegal rank.");
+        N cur = root;
+        while (true) {
+            int leftSize = nodes.size(nodes.left(cur));
+            if (k < leftSize)
+                cur = nodes.left(cur);
+            else if (k > leftSize) {
+                k -= leftSize + 1;
+                cur = nodes.right(cur);
+            } else
+                return nodes.key(cur);
+        }
+    }
+
+    // 按从小到大的顺序懒惰地遍历以root为根的树中[lo, hi]内的键
+    // 迭代器只保存从根到当前节点的一条路径，不会生成中间的列表
+    static class RangeIterator<N, K extends Comparable<K>> implements Iterator<K> {
+        private ArrayDeque<N> stack;
+        private K lo, hi;
+        private Nodes<N, K> nodes;
+
+        RangeIterator(N root, K lo, K hi, Nodes<N, K> nodes) {
+            this.lo = lo;
+            this.hi = hi;
+            this.nodes = nodes;
+            stack = new ArrayDeque<>();
+            pushLeft(root);
+        }
+
+        // 把node和它左侧链上所有不小于lo的节点压栈
+        private void pushLeft(N node) {
+            while (node != null) {
+                if (nodes.key(node).compareTo(lo) < 0)
+                    node = nodes.right(node);
+                else {
+                    stack.push(node);
+                    node = nodes.left(node);
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !stack.isEmpty() && nodes.key(stack.peek()).compareTo(hi) <= 0;
+        }
+
+        @Override
+        public K next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            N node = stack.pop();
+            pushLeft(nodes.right(node));
+            return nodes.key(node);
+        }
+    }
+}
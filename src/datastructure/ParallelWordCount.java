@@ -0,0 +1,93 @@
+package datastructure;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// 并行单词计数
+// 把文件按字节切成若干段(切分点都落在单词之外)，每段在fork-join的工作线程上单独分词，
+// 计入该段自己的HashTable，然后两两归并：左右两半的结果用Merger把相同单词的次数加起来，
+// 整个归并过程是一棵二叉树，最终在根上得到整个文件的计数
+public class ParallelWordCount {
+
+    private static final Merger<Integer> SUM = (a, b) -> a + b;
+
+    // 每个线程分到的段数，多切几段可以让先做完的线程去偷别人的任务
+    private static final int PARTS_PER_THREAD = 4;
+
+    private ParallelWordCount() {
+    }
+
+    public static HashTable<String, Integer> count(String filename) throws IOException {
+        return count(filename, Runtime.getRuntime().availableProcessors());
+    }
+
+    // 用parallelism个线程统计文件filename中每个单词出现的次数
+    public static HashTable<String, Integer> count(String filename, int parallelism) throws IOException {
+        WordTokenizer tokenizer = new WordTokenizer(filename);
+        long[] points = tokenizer.splitPoints(parallelism * PARTS_PER_THREAD);
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return pool.invoke(new CountTask(filename, points, 0, points.length - 1));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // 统计第lo段到第hi - 1段
+    private static class CountTask extends RecursiveTask<HashTable<String, Integer>> {
+        private static final long serialVersionUID = 1L;
+
+        private String filename;
+        private long[] points;
+        private int lo, hi;
+
+        CountTask(String filename, long[] points, int lo, int hi) {
+            this.filename = filename;
+            this.points = points;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected HashTable<String, Integer> compute() {
+            if (hi - lo == 1)
+                return countRange(filename, points[lo], points[hi]);
+
+            int mid = lo + (hi - lo) / 2;
+            CountTask left = new CountTask(filename, points, lo, mid);
+            CountTask right = new CountTask(filename, points, mid, hi);
+            left.fork();
+            HashTable<String, Integer> rightResult = right.compute();
+            HashTable<String, Integer> leftResult = left.join();
+            return merge(leftResult, rightResult);
+        }
+    }
+
+    private static HashTable<String, Integer> countRange(String filename, long from, long to) {
+        HashTable<String, Integer> map = new HashTable<>();
+        WordInterner interner = new WordInterner();
+        try {
+            new WordTokenizer(filename).forEach(from, to, word -> map.merge(interner.intern(word), 1, SUM));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return map;
+    }
+
+    // 把较小的表并入较大的表，返回较大的表
+    private static HashTable<String, Integer> merge(HashTable<String, Integer> a, HashTable<String, Integer> b) {
+        if (a.getSize() < b.getSize()) {
+            HashTable<String, Integer> t = a;
+            a = b;
+            b = t;
+        }
+        HashTable<String, Integer> target = a;
+        b.forEach((word, count) -> target.merge(word, count, SUM));
+        return target;
+    }
+}
@@ -1,3 +1,5 @@
+package datastructure;
+
 public class PriorityQueue<E extends Comparable<E>> implements Queue<E> {
 
     private MaxHeap<E> maxHeap;
@@ -0,0 +1,714 @@
+package datastructure;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+
+/*
+红黑树JAVA实现
+*/
+
+
+public class RBTree<K extends Comparable<K>, V> implements Map<K, V> {
+    //为了简化理解这里直接定义一下red black
+    public static final boolean RED = true;
+    public static final boolean BLACK = false;
+
+    private class Node {
+        public K key;
+        public V value;
+        public Node left, right;
+        // 以该节点为根的子树中的节点个数
+        public int size;
+        public boolean color;
+
+        public Node(K key, V value) {
+            this.key = key;
+            this.value = value;
+            left = null;
+            right = null;
+            size = 1;
+            color = RED;
+        }
+    }
+
+    private Node root;
+    private int size;
+
+    // 插入时从根到当前节点经过的路径，代替递归的调用栈
+    private Node[] path;
+    private int depth;
+    private int lastCmp;
+
+    // Node是泛型类的内部类，不能直接创建Node[]，只能从原始类型的数组转换
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public RBTree() {
+        root = null;
+        size = 0;
+        path = (Node[]) new RBTree.Node[64];
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    //私有函数 判断红黑色
+    public boolean isRed(Node node) {
+        if (node == null)
+            return BLACK;
+        return node.color;
+    }
+    //   node                     x
+    //  /   \     左旋转         /  \
+    // T1   x   --------->   node   T3
+    //     / \              /   \
+    //    T2 T3            T1   T2
+
+    private Node leftRotate(Node node) {
+        Node x = node.right;
+        node.right = x.left;
+        x.left = node;
+        x.color = node.color;
+        node.color = RED;
+        x.size = node.size;
+        node.size = 1 + size(node.left) + size(node.right);
+        return x;
+    }
+
+    //     node                   x
+    //    /   \     右旋转       /  \
+    //   x    T2   ------->   y   node
+    //  / \                       /  \
+    // y  T1                     T1  T2
+    private Node rightRotate(Node node){
+        Node x = node.left;
+        node.left = x.right;
+        x.right = node;
+        x.color = node.color;
+        node.color = RED;
+        x.size = node.size;
+        node.size = 1 + size(node.left) + size(node.right);
+        return x;
+    }
+
+    // 颜色翻转，节点和两个孩子的颜色都取反
+    // 插入时是把黑色节点的两个红孩子染黑、自己染红；删除时反过来，借一个红色链接给下层
+    private void flipColors(Node node){
+        node.color = !node.color;
+        node.left.color = !node.left.color;
+        node.right.color = !node.right.color;
+    }
+    // 向二分搜索树中添加新的元素(key, value)
+    public void add(K key, V value) {
+        Node node = descend(key);
+        if (node != null)
+            node.value = value;
+        else
+            attach(key, value);
+        clearPath();
+    }
+
+    // 若key不存在则添加(key, value)，否则把旧值和value融合，只需要从根向下遍历一次
+    public void merge(K key, V value, Merger<V> merger) {
+        Node node = descend(key);
+        if (node != null)
+            node.value = merger.merge(node.value, value);
+        else
+            attach(key, value);
+        clearPath();
+    }
+
+    // 若key不存在则用mappingFunction计算出值并添加，返回key对应的值
+    // 未命中时直接在descend停下的位置挂上新节点，只需要从根向下遍历一次，mappingFunction中不能修改这棵树
+    public V computeIfAbsent(K key, Function<K, V> mappingFunction) {
+        Node node = descend(key);
+        if (node != null) {
+            clearPath();
+            return node.value;
+        }
+        V value = mappingFunction.apply(key);
+        attach(key, value);
+        clearPath();
+        return value;
+    }
+
+    // 从根向下查找key，沿途经过的节点依次记录在path中
+    // 找到时返回key所在的节点(不记入path)，否则返回null，此时path[depth - 1]就是新节点的父亲，
+    // lastCmp是key与它比较的结果，决定新节点挂在左边还是右边
+    private Node descend(K key) {
+        depth = 0;
+        Node cur = root;
+        while (cur != null) {
+            int cmp = key.compareTo(cur.key);
+            if (cmp == 0)
+                return cur;
+            push(cur);
+            lastCmp = cmp;
+            cur = cmp < 0 ? cur.left : cur.right;
+        }
+        return null;
+    }
+
+    private void push(Node node) {
+        if (depth == path.length)
+            path = Arrays.copyOf(path, depth * 2);
+        path[depth++] = node;
+    }
+
+    // 一次操作结束后清空path中用过的位置，让已经删掉的节点不会因为还留在path中而无法被回收
+    private void clearPath() {
+        Arrays.fill(path, 0, depth, null);
+        depth = 0;
+    }
+
+    // 把path[i]的父亲指向oldChild的链接改成newChild，i为0时修改根
+    private void replaceChild(int i, Node oldChild, Node newChild) {
+        if (i == 0)
+            root = newChild;
+        else if (path[i - 1].left == oldChild)
+            path[i - 1].left = newChild;
+        else
+            path[i - 1].right = newChild;
+    }
+
+    // 在descend找到的位置上挂上新的红色节点，然后沿着path自底向上做左旋转、右旋转和颜色翻转
+    // 父亲节点的调整只取决于它的孩子和左孙子的颜色，
+    // 所以当连续两层都没有发生任何变化时，更上面的节点都和插入前一样，直接结束
+    private void attach(K key, V value) {
+        Node node = new Node(key, value);
+        size++;
+        if (depth == 0) {
+            root = node;
+            root.color = BLACK;
+            return;
+        }
+        Node parent = path[depth - 1];
+        if (lastCmp < 0)
+            parent.left = node;
+        else
+            parent.right = node;
+        for (int i = 0; i < depth; i++)
+            path[i].size++;
+
+        boolean childChanged = true;
+        for (int i = depth - 1; i >= 0; i--) {
+            Node cur = path[i];
+            Node x = cur;
+            boolean changed = false;
+            if (isRed(x.right) && !isRed(x.left)) {
+                x = leftRotate(x);
+                changed = true;
+            }
+            if (isRed(x.left) && isRed(x.left.left)) {
+                x = rightRotate(x);
+                changed = true;
+            }
+            if (isRed(x.left) && isRed(x.right)) {
+                flipColors(x);
+                changed = true;
+            }
+            if (x != cur)
+                replaceChild(i, cur, x);
+            if (!changed && !childChanged)
+                break;
+            childChanged = changed;
+        }
+        root.color = BLACK;
+    }
+
+    // 返回以node为根节点的二分搜索树中，key所在的节点
+    private Node getNode(Node node, K key) {
+
+        if (node == null)
+            return null;
+
+        if (key.equals(node.key))
+            return node;
+        else if (key.compareTo(node.key) < 0)
+            return getNode(node.left, key);
+        else // if(key.compareTo(node.key) > 0)
+            return getNode(node.right, key);
+    }
+
+    public boolean contains(K key) {
+        return getNode(root, key) != null;
+    }
+
+    public V get(K key) {
+
+        Node node = getNode(root, key);
+        return node == null ? null : node.value;
+    }
+
+    public void set(K key, V newValue) {
+        Node node = getNode(root, key);
+        if (node == null)
+            throw new IllegalArgumentException(key + " doesn't exist!");
+
+        node.value = newValue;
+    }
+
+    // 假设node是红色，node.left和node.left.left都是黑色，
+    // 把node.left或它的某个孩子变红，保证向左走的下一个节点不是2-节点
+    private Node moveRedLeft(Node node) {
+        flipColors(node);
+        if (isRed(node.right.left)) {
+            node.right = rightRotate(node.right);
+            node = leftRotate(node);
+            flipColors(node);
+        }
+        return node;
+    }
+
+    // 假设node是红色，node.right和node.right.left都是黑色，
+    // 把node.right或它的某个孩子变红，保证向右走的下一个节点不是2-节点
+    private Node moveRedRight(Node node) {
+        flipColors(node);
+        if (isRed(node.left.left)) {
+            node = rightRotate(node);
+            flipColors(node);
+        }
+        return node;
+    }
+
+    // 删除后自底向上恢复左倾红黑树的性质
+    private Node balance(Node node) {
+        if (isRed(node.right) && !isRed(node.left))
+            node = leftRotate(node);
+        if (isRed(node.left) && isRed(node.left.left))
+            node = rightRotate(node);
+        if (isRed(node.left) && isRed(node.right))
+            flipColors(node);
+        return node;
+    }
+
+    // 从红黑树中删除键为key的节点
+    // 自顶向下删除：向下走的过程中用moveRedLeft/moveRedRight保证当前节点不是2-节点，
+    // 这样最后删掉的总是一个红色节点(或3-节点中的一个键)，不会破坏黑色平衡，
+    // 然后沿着path自底向上用balance把临时引入的右倾红链接和4-节点恢复
+    public V remove(K key) {
+
+        Node node = getNode(root, key);
+        if (node == null)
+            return null;
+        V ret = node.value;
+
+        // 根的两个孩子都是黑色时，先把根染红
+        if (!isRed(root.left) && !isRed(root.right))
+            root.color = RED;
+
+        depth = 0;
+        Node cur = root;
+        while (true) {
+            if (key.compareTo(cur.key) < 0) {
+                if (!isRed(cur.left) && !isRed(cur.left.left))
+                    cur = relink(cur, moveRedLeft(cur));
+                push(cur);
+                cur = cur.left;
+                continue;
+            }
+
+            if (isRed(cur.left))
+                cur = relink(cur, rightRotate(cur));
+            // 要删除的节点没有右孩子，在左倾红黑树中它也一定没有左孩子，直接删掉
+            if (key.compareTo(cur.key) == 0 && cur.right == null) {
+                relink(cur, null);
+                break;
+            }
+            if (!isRed(cur.right) && !isRed(cur.right.left))
+                cur = relink(cur, moveRedRight(cur));
+            if (key.compareTo(cur.key) == 0) {
+                // 用右子树中最小的节点顶替：把它的键值搬过来，再删掉这个最小节点
+                push(cur);
+                Node target = cur;
+                Node min = cur.right;
+                while (min.left != null) {
+                    if (!isRed(min.left) && !isRed(min.left.left))
+                        min = relink(min, moveRedLeft(min));
+                    push(min);
+                    min = min.left;
+                }
+                target.key = min.key;
+                target.value = min.value;
+                relink(min, null);
+                break;
+            }
+            push(cur);
+            cur = cur.right;
+        }
+        size--;
+        for (int i = 0; i < depth; i++)
+            path[i].size--;
+
+        for (int i = depth - 1; i >= 0; i--) {
+            Node x = path[i];
+            Node balanced = balance(x);
+            if (balanced != x)
+                replaceChild(i, x, balanced);
+        }
+        if (root != null)
+            root.color = BLACK;
+        clearPath();
+        return ret;
+    }
+
+    // 当前节点(父亲是path[depth - 1])被替换成了newNode，更新父亲的链接，返回newNode
+    private Node relink(Node oldNode, Node newNode) {
+        if (oldNode != newNode)
+            replaceChild(depth, oldNode, newNode);
+        return newNode;
+    }
+
+    //判断是否为二分搜索树
+    public boolean isBST() {
+        ArrayList<K> keys = new ArrayList<>();
+        inOrder(root, keys);
+        for (int i = 1; i < keys.size(); i++)
+            if (keys.get(i - 1).compareTo(keys.get(i)) >= 0)
+                return false;
+        return keys.size() == size;
+    }
+
+    //中序遍历
+    private void inOrder(Node node, ArrayList<K> keys) {
+        if (node == null)
+            return;
+        inOrder(node.left, keys);
+        keys.add(node.key);
+        inOrder(node.right, keys);
+    }
+
+    //判断是否黑平衡：根是黑色，没有右倾的红链接，没有连续的两个红链接，从根到每个空链接的黑色节点数相同
+    public boolean isBalanced() {
+        return !isRed(root) && blackHeight(root) >= 0;
+    }
+
+    // 返回以node为根的子树的黑高，不满足左倾红黑树的性质时返回-1
+    private int blackHeight(Node node) {
+        if (node == null)
+            return 0;
+        if (isRed(node.right))
+            return -1;
+        if (isRed(node) && isRed(node.left))
+            return -1;
+        int left = blackHeight(node.left);
+        int right = blackHeight(node.right);
+        if (left < 0 || left != right)
+            return -1;
+        return left + (isRed(node) ? 0 : 1);
+    }
+
+    // 由严格递增的keys和对应的values建立左倾红黑树，时间复杂度O(n)，不需要任何旋转
+    // 左倾红黑树与2-3树一一对应：先定出2-3树的高度h，使得n个键恰好能放进一棵高为h的2-3树，
+    // 然后自顶向下地把键尽量平均地分给各棵子树，尽量使用2-节点，只在键太多放不下时才使用3-节点，
+    // 3-节点表示成一个黑色节点和它左边的红色孩子
+    public static <K extends Comparable<K>, V> RBTree<K, V> fromSorted(K[] keys, V[] values) {
+        checkSorted(keys, values);
+        RBTree<K, V> tree = new RBTree<>();
+        tree.root = tree.build(keys, values, 0, keys.length - 1, blackHeight(keys.length));
+        tree.size = keys.length;
+        return tree;
+    }
+
+    // fromSorted的并行版本，各棵子树在fork-join的不同任务中建立
+    public static <K extends Comparable<K>, V> RBTree<K, V> fromSortedParallel(K[] keys, V[] values) {
+        checkSorted(keys, values);
+        RBTree<K, V> tree = new RBTree<>();
+        tree.root = ForkJoinPool.commonPool().invoke(
+                tree.new BuildTask(keys, values, 0, keys.length - 1, blackHeight(keys.length)));
+        tree.size = keys.length;
+        return tree;
+    }
+
+    // fromSorted要求keys严格递增，并且与values一一对应
+    private static <K extends Comparable<K>> void checkSorted(K[] keys, Object[] values) {
+        if (keys.length != values.length)
+            throw new IllegalArgumentException("FromSorted failed. keys and values must have the same length.");
+        for (int i = 1; i < keys.length; i++)
+            if (keys[i - 1].compareTo(keys[i]) >= 0)
+                throw new IllegalArgumentException("FromSorted failed. keys must be strictly increasing.");
+    }
+
+    // n个键建树时所用的2-3树的高度：满足2^h - 1 <= n的最大的h，此时一定有n <= 3^h - 1
+    private static int blackHeight(int n) {
+        return 31 - Integer.numberOfLeadingZeros(n + 1);
+    }
+
+    // 高为h的2-3树最多能存放的键数3^h - 1
+    private static long maxKeys(int h) {
+        long ret = 1;
+        for (int i = 0; i < h; i++)
+            ret *= 3;
+        return ret - 1;
+    }
+
+    // 用keys[lo..hi]建立高为h的2-3树时，根是2-节点还是3-节点
+    // 返回根中的键的下标{red, black}，2-节点时red为-1
+    // 键的个数n满足2^h - 1 <= n <= 3^h - 1，平均分配后每棵子树的键数也满足高为h - 1时的这个条件
+    private static int[] split(int lo, int hi, int h) {
+        int n = hi - lo + 1;
+        if (n - 1 <= 2 * maxKeys(h - 1))
+            return new int[]{-1, lo + (n - 1) / 2};
+
+        int m = n - 2;
+        int red = lo + (m + 2) / 3;
+        int black = red + 1 + (m + 1) / 3;
+        return new int[]{red, black};
+    }
+
+    // 由keys[lo..hi]建立的两棵或三棵子树组装出根
+    private Node assemble(K[] keys, V[] values, int[] root, Node a, Node b, Node c) {
+        Node node = new Node(keys[root[1]], values[root[1]]);
+        node.color = BLACK;
+        if (root[0] == -1) {
+            node.left = a;
+            node.right = b;
+        } else {
+            Node red = new Node(keys[root[0]], values[root[0]]);
+            red.left = a;
+            red.right = b;
+            red.size = 1 + size(a) + size(b);
+            node.left = red;
+            node.right = c;
+        }
+        node.size = 1 + size(node.left) + size(node.right);
+        return node;
+    }
+
+    // 用keys[lo..hi]建立一棵黑高为h的左倾红黑树，返回黑色的根
+    private Node build(K[] keys, V[] values, int lo, int hi, int h) {
+        if (lo > hi)
+            return null;
+
+        int[] root = split(lo, hi, h);
+        if (root[0] == -1)
+            return assemble(keys, values, root,
+                    build(keys, values, lo, root[1] - 1, h - 1),
+                    build(keys, values, root[1] + 1, hi, h - 1), null);
+        return assemble(keys, values, root,
+                build(keys, values, lo, root[0] - 1, h - 1),
+                build(keys, values, root[0] + 1, root[1] - 1, h - 1),
+                build(keys, values, root[1] + 1, hi, h - 1));
+    }
+
+    // 子树中的键少于这个数时不再拆分任务，直接顺序建树
+    private static final int PARALLEL_THRESHOLD = 1 << 13;
+
+    private class BuildTask extends RecursiveTask<Node> {
+        private static final long serialVersionUID = 1L;
+
+        private K[] keys;
+        private V[] values;
+        private int lo, hi, h;
+
+        BuildTask(K[] keys, V[] values, int lo, int hi, int h) {
+            this.keys = keys;
+            this.values = values;
+            this.lo = lo;
+            this.hi = hi;
+            this.h = h;
+        }
+
+        @Override
+        protected Node compute() {
+            if (hi - lo + 1 < PARALLEL_THRESHOLD)
+                return build(keys, values, lo, hi, h);
+
+            int[] root = split(lo, hi, h);
+            if (root[0] == -1) {
+                BuildTask left = new BuildTask(keys, values, lo, root[1] - 1, h - 1);
+                left.fork();
+                Node right = new BuildTask(keys, values, root[1] + 1, hi, h - 1).compute();
+                return assemble(keys, values, root, left.join(), right, null);
+            }
+
+            BuildTask a = new BuildTask(keys, values, lo, root[0] - 1, h - 1);
+            BuildTask b = new BuildTask(keys, values, root[0] + 1, root[1] - 1, h - 1);
+            a.fork();
+            b.fork();
+            Node c = new BuildTask(keys, values, root[1] + 1, hi, h - 1).compute();
+            Node bRoot = b.join();
+            return assemble(keys, values, root, a.join(), bRoot, c);
+        }
+    }
+
+    // 返回以node为根的子树中的节点个数
+    private int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    // 让OrderedTrees读取这棵树的节点
+    private final OrderedTrees.Nodes<Node, K> nodes = new OrderedTrees.Nodes<Node, K>() {
+        @Override
+        public K key(Node node) {
+            return node.key;
+        }
+
+        @Override
+        public Node left(Node node) {
+            return node.left;
+        }
+
+        @Override
+        public Node right(Node node) {
+            return node.right;
+        }
+
+        @Override
+        public int size(Node node) {
+            return node == null ? 0 : node.size;
+        }
+    };
+
+    // 返回小于等于key的最大的键，不存在时返回null
+    public K floor(K key) {
+        return OrderedTrees.floor(root, key, nodes);
+    }
+
+    // 返回大于等于key的最小的键，不存在时返回null
+    public K ceiling(K key) {
+        return OrderedTrees.ceiling(root, key, nodes);
+    }
+
+    // 返回小于key的键的个数，即key的排名(从0开始)
+    public int rank(K key) {
+        return OrderedTrees.rank(root, key, nodes);
+    }
+
+    // 返回排名为k(从0开始)的键
+    public K select(int k) {
+        return OrderedTrees.select(root, k, nodes);
+    }
+
+    // 按从小到大的顺序遍历[lo, hi]中的键
+    // 遍历是懒惰的，迭代器只保存从根到当前节点的一条路径，不会生成中间的列表
+    public Iterable<K> range(K lo, K hi) {
+        return () -> new OrderedTrees.RangeIterator<>(root, lo, hi, nodes);
+    }
+
+    public static void main(String[] args) {
+
+        System.out.println("Pride and Prejudice");
+
+        ArrayList<String> words = new ArrayList<>();
+        if (FileOperation.readFile("pride-and-prejudice.txt", words)) {
+            System.out.println("Total words: " + words.size());
+
+            RBTree<String, Integer> map = new RBTree<>();
+            for (String word : words) {
+                if (map.contains(word))
+                    map.set(word, map.get(word) + 1);
+                else
+                    map.add(word, 1);
+            }
+
+            System.out.println("Total different words: " + map.getSize());
+            System.out.println("Frequency of PRIDE: " + map.get("pride"));
+            System.out.println("Frequency of PREJUDICE: " + map.get("prejudice"));
+
+            System.out.println("is BST : " + map.isBST());
+            System.out.println("is Balanced : " + map.isBalanced());
+            for (String word : words) {
+                map.remove(word);
+                if (!map.isBST() || !map.isBalanced())
+                    throw new RuntimeException("Error");
+            }
+            if (!map.isEmpty())
+                throw new RuntimeException("Error");
+        }
+
+        // 随机地混合插入、更新和删除，和java.util.TreeMap对比，并检查红黑树的性质
+        Random random = new Random();
+        for (int round = 0; round < 20; round++) {
+            RBTree<Integer, Integer> tree = new RBTree<>();
+            TreeMap<Integer, Integer> expected = new TreeMap<>();
+            int range = 1 + random.nextInt(10000);
+            for (int i = 0; i < 20000; i++) {
+                int key = random.nextInt(range);
+                int op = random.nextInt(3);
+                if (op == 0) {
+                    tree.add(key, i);
+                    expected.put(key, i);
+                } else if (op == 1) {
+                    tree.merge(key, 1, (a, b) -> a + b);
+                    expected.merge(key, 1, Integer::sum);
+                } else if (!Objects.equals(tree.remove(key), expected.remove(key)))
+                    throw new RuntimeException("Error");
+                if (tree.getSize() != expected.size())
+                    throw new RuntimeException("Error");
+            }
+            if (!tree.isBST() || !tree.isBalanced())
+                throw new RuntimeException("Error");
+            for (int key = 0; key < range; key++)
+                if (!Objects.equals(tree.get(key), expected.get(key)))
+                    throw new RuntimeException("Error");
+        }
+
+        // 随机地插入和删除之后，和java.util.TreeMap对比floor、ceiling、rank、select和range，
+        // 查询的键也包括已存的键的范围之外的键
+        for (int round = 0; round < 20; round++) {
+            RBTree<Integer, Integer> tree = new RBTree<>();
+            TreeMap<Integer, Integer> expected = new TreeMap<>();
+            int range = 1 + random.nextInt(2000);
+            for (int i = 0; i < 5000; i++) {
+                int key = random.nextInt(range);
+                if (random.nextInt(3) == 0) {
+                    tree.remove(key);
+                    expected.remove(key);
+                } else {
+                    tree.add(key, i);
+                    expected.put(key, i);
+                }
+            }
+            if (tree.getSize() != expected.size())
+                throw new RuntimeException("Error");
+            for (int key = -2; key <= range + 1; key++)
+                if (!Objects.equals(tree.floor(key), expected.floorKey(key))
+                        || !Objects.equals(tree.ceiling(key), expected.ceilingKey(key))
+                        || tree.rank(key) != expected.headMap(key).size())
+                    throw new RuntimeException("Error");
+            int rank = 0;
+            for (int key : expected.keySet())
+                if (tree.select(rank++) != key)
+                    throw new RuntimeException("Error");
+            for (int k = 0; k < 100; k++) {
+                int lo = random.nextInt(range + 4) - 2, hi = lo + random.nextInt(range / 2 + 2) - 1;
+                ArrayList<Integer> keys = new ArrayList<>();
+                for (int key : tree.range(lo, hi))
+                    keys.add(key);
+                if (lo <= hi ? !keys.equals(new ArrayList<>(expected.subMap(lo, true, hi, true).keySet())) : !keys.isEmpty())
+                    throw new RuntimeException("Error");
+            }
+        }
+
+        // 由有序数组直接建树，检查各种大小下红黑树的性质，以及并行版本与顺序版本的一致性
+        for (int n = 0; n <= 20000; n += 1 + random.nextInt(200)) {
+            Integer[] keys = new Integer[n];
+            for (int i = 0; i < n; i++)
+                keys[i] = 2 * i;
+            RBTree<Integer, Integer> tree = fromSorted(keys, keys);
+            RBTree<Integer, Integer> parallel = fromSortedParallel(keys, keys);
+            if (!tree.isBST() || !tree.isBalanced() || !parallel.isBST() || !parallel.isBalanced())
+                throw new RuntimeException("Error");
+            for (int i = 0; i < n; i++)
+                if (tree.select(i) != 2 * i || parallel.select(i) != 2 * i)
+                    throw new RuntimeException("Error");
+            for (int i = 0; i < n; i += 3) {
+                tree.add(2 * i + 1, i);
+                tree.remove(2 * i);
+            }
+            if (!tree.isBST() || !tree.isBalanced())
+                throw new RuntimeException("Error");
+        }
+        System.out.println("OK");
+    }
+}
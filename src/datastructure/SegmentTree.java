@@ -1,3 +1,5 @@
+package datastructure;
+
 public class SegmentTree<E> {
     private E[] tree;
     private E[] data;
@@ -0,0 +1,6 @@
+package datastructure;
+
+// LongSegmentTree、DoubleSegmentTree内置的融合方式
+public enum SegmentTreeMode {
+    SUM, MIN, MAX
+}
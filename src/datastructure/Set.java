@@ -1,3 +1,5 @@
+package datastructure;
+
 public interface Set<E> {
 
     void add(E e);
@@ -0,0 +1,299 @@
+package datastructure;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Consumer;
+
+// 单生产者单消费者的无锁环形队列
+// 与LoopQueue一样是循环数组，但容量固定为2的幂，下标用tail & mask计算；
+// tail和head是一直递增的long计数器，tail - head就是队列中的元素个数，不需要浪费一个位置区分空和满
+// 只有生产者写tail，只有消费者写head，所以不需要CAS：
+// 生产者先写数组元素，再用release写tail(即lazySet)，消费者用acquire读到tail后一定能看到之前写入的元素，head反之
+// 生产者缓存一份head，只有缓存的值显示队列已满时才去读消费者的head，消费者对tail同理，减少两个线程间的缓存行传递
+// tail和head分别放在不同的缓存行上(见文件末尾的填充类)，避免伪共享
+// 必须保证同一时刻只有一个线程调用offer类的方法，只有一个线程调用poll类的方法
+public class SpscRingQueue<E> extends SpscHeadPad implements Queue<E> {
+
+    private static final VarHandle HEAD;
+    private static final VarHandle TAIL;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            HEAD = lookup.findVarHandle(SpscHead.class, "head", long.class);
+            TAIL = lookup.findVarHandle(SpscTail.class, "tail", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final E[] data;
+    private final int mask;
+
+    // capacity会向上取整为2的幂
+    @SuppressWarnings("unchecked")
+    public SpscRingQueue(int capacity) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("capacity must be positive");
+        int n = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        if (n <= 0)
+            throw new IllegalArgumentException("capacity is too large");
+        data = (E[]) new Object[n];
+        mask = n - 1;
+    }
+
+    public int getCapacity() {
+        return data.length;
+    }
+
+    // 队列中的元素个数，并发时只是一个近似值
+    @Override
+    public int getSize() {
+        long head = (long) HEAD.getAcquire(this);
+        long tail = (long) TAIL.getAcquire(this);
+        return (int) Math.max(0, Math.min(tail - head, data.length));
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return getSize() == 0;
+    }
+
+    // 生产者：在队尾加入e，队列已满时返回false
+    public boolean offer(E e) {
+        if (e == null)
+            throw new IllegalArgumentException("Element can not be null");
+
+        long tail = (long) TAIL.get(this);
+        if (tail - headCache >= data.length) {
+            headCache = (long) HEAD.getAcquire(this);
+            if (tail - headCache >= data.length)
+                return false;
+        }
+        data[(int) tail & mask] = e;
+        TAIL.setRelease(this, tail + 1);
+        return true;
+    }
+
+    // 生产者：把arr[from, to)中尽量多的元素依次加入队尾，返回加入的个数
+    // 一批元素只发布一次tail
+    public int offerAll(E[] arr, int from, int to) {
+        if (from < 0 || to > arr.length || from > to)
+            throw new IllegalArgumentException("Illegal range");
+
+        long tail = (long) TAIL.get(this);
+        long free = data.length - (tail - headCache);
+        if (free < to - from) {
+            headCache = (long) HEAD.getAcquire(this);
+            free = data.length - (tail - headCache);
+        }
+        int n = (int) Math.min(free, to - from);
+        for (int i = 0; i < n; i++) {
+            E e = arr[from + i];
+            if (e == null)
+                throw new IllegalArgumentException("Element can not be null");
+            data[(int) (tail + i) & mask] = e;
+        }
+        if (n > 0)
+            TAIL.setRelease(this, tail + n);
+        return n;
+    }
+
+    // 消费者：取出队首元素，队列为空时返回null
+    public E poll() {
+        long head = (long) HEAD.get(this);
+        if (head >= tailCache) {
+            tailCache = (long) TAIL.getAcquire(this);
+            if (head >= tailCache)
+                return null;
+        }
+        int i = (int) head & mask;
+        E ret = data[i];
+        data[i] = null;
+        HEAD.setRelease(this, head + 1);
+        return ret;
+    }
+
+    // 消费者：查看队首元素，队列为空时返回null
+    public E peek() {
+        long head = (long) HEAD.get(this);
+        if (head >= tailCache) {
+            tailCache = (long) TAIL.getAcquire(this);
+            if (head >= tailCache)
+                return null;
+        }
+        return data[(int) head & mask];
+    }
+
+    // 消费者：取出最多limit个元素依次交给consumer，返回取出的个数
+    // 一批元素只读一次tail、发布一次head
+    public int drainTo(Consumer<? super E> consumer, int limit) {
+        long head = (long) HEAD.get(this);
+        long available = tailCache - head;
+        if (available < limit) {
+            tailCache = (long) TAIL.getAcquire(this);
+            available = tailCache - head;
+        }
+        int n = (int) Math.min(available, limit);
+        for (int k = 0; k < n; k++) {
+            int i = (int) (head + k) & mask;
+            E e = data[i];
+            data[i] = null;
+            consumer.accept(e);
+        }
+        if (n > 0)
+            HEAD.setRelease(this, head + n);
+        return n;
+    }
+
+    @Override
+    public void enqueue(E e) {
+        if (!offer(e))
+            throw new IllegalArgumentException("can not enqueue to full queue");
+    }
+
+    @Override
+    public E dequeue() {
+        E ret = poll();
+        if (ret == null)
+            throw new IllegalArgumentException("can not dequeue from empty queue");
+        return ret;
+    }
+
+    @Override
+    public E getFront() {
+        E ret = peek();
+        if (ret == null)
+            throw new IllegalArgumentException("Empty Queue");
+        return ret;
+    }
+
+    // 一个线程生产n个数，另一个线程消费并检查顺序，返回用时(秒)
+    // 队列满或空时让出CPU，在核数比线程数少的机器上也不会长时间空转
+    private static double transfer(int n, boolean batch, SpscRingQueue<Integer> queue) throws InterruptedException {
+        Integer[] values = new Integer[1024];
+        for (int i = 0; i < values.length; i++)
+            values[i] = i;
+
+        Thread producer = new Thread(() -> {
+            Integer[] chunk = new Integer[64];
+            for (int i = 0; i < n; ) {
+                if (batch) {
+                    int m = Math.min(chunk.length, n - i);
+                    for (int j = 0; j < m; j++)
+                        chunk[j] = values[(i + j) & 1023];
+                    int from = 0;
+                    while (from < m) {
+                        int added = queue.offerAll(chunk, from, m);
+                        if (added == 0)
+                            Thread.yield();
+                        from += added;
+                    }
+                    i += m;
+                } else if (queue.offer(values[i & 1023]))
+                    i++;
+                else
+                    Thread.yield();
+            }
+        });
+
+        long startTime = System.nanoTime();
+        producer.start();
+        int[] received = {0};
+        while (received[0] < n) {
+            if (batch) {
+                if (queue.drainTo(e -> {
+                    if (e != (received[0]++ & 1023))
+                        throw new RuntimeException("Error");
+                }, 256) == 0)
+                    Thread.yield();
+            } else {
+                Integer e = queue.poll();
+                if (e == null)
+                    Thread.yield();
+                else if (e != (received[0]++ & 1023))
+                    throw new RuntimeException("Error");
+            }
+        }
+        producer.join();
+        if (!queue.isEmpty())
+            throw new RuntimeException("Error");
+        return (System.nanoTime() - startTime) / 1000000000.0;
+    }
+
+    // 与ArrayBlockingQueue对比
+    private static double transfer(int n, BlockingQueue<Integer> queue) throws InterruptedException {
+        Integer[] values = new Integer[1024];
+        for (int i = 0; i < values.length; i++)
+            values[i] = i;
+
+        Thread producer = new Thread(() -> {
+            try {
+                for (int i = 0; i < n; i++)
+                    queue.put(values[i & 1023]);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        long startTime = System.nanoTime();
+        producer.start();
+        for (int i = 0; i < n; i++)
+            if (queue.take() != (i & 1023))
+                throw new RuntimeException("Error");
+        producer.join();
+        return (System.nanoTime() - startTime) / 1000000000.0;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        SpscRingQueue<Integer> queue = new SpscRingQueue<>(10);
+        if (queue.getCapacity() != 16)
+            throw new RuntimeException("Error");
+        for (int i = 0; i < 16; i++)
+            queue.enqueue(i);
+        if (queue.offer(16) || queue.getSize() != 16)
+            throw new RuntimeException("Error");
+        for (int i = 0; i < 16; i++)
+            if (queue.dequeue() != i)
+                throw new RuntimeException("Error");
+        if (queue.poll() != null || !queue.isEmpty())
+            throw new RuntimeException("Error");
+
+        int n = 10000000;
+        for (int round = 0; round < 3; round++) {
+            System.out.println("SpscRingQueue offer/poll: " + transfer(n, false, new SpscRingQueue<>(1024)) + " s");
+            System.out.println("SpscRingQueue offerAll/drainTo: " + transfer(n, true, new SpscRingQueue<>(1024)) + " s");
+            System.out.println("ArrayBlockingQueue put/take: " + transfer(n, new ArrayBlockingQueue<>(1024)) + " s");
+        }
+        System.out.println("OK");
+    }
+}
+
+// 下面的类只用来决定字段的内存布局：JVM把父类的字段放在子类的字段前面，
+// 在tail、head前后各放8个long(64字节)，让生产者的字段和消费者的字段落在不同的缓存行上
+
+abstract class SpscPad0 {
+    long p00, p01, p02, p03, p04, p05, p06, p07;
+}
+
+// 生产者的字段：tail以及缓存的head
+abstract class SpscTail extends SpscPad0 {
+    long tail;
+    long headCache;
+}
+
+abstract class SpscTailPad extends SpscTail {
+    long p10, p11, p12, p13, p14, p15, p16, p17;
+}
+
+// 消费者的字段：head以及缓存的tail
+abstract class SpscHead extends SpscTailPad {
+    long head;
+    long tailCache;
+}
+
+abstract class SpscHeadPad extends SpscHead {
+    long p20, p21, p22, p23, p24, p25, p26, p27;
+}
@@ -1,3 +1,5 @@
+package datastructure;
+
 public interface Stack<E> {
     int getSize();
     boolean isEmpty();
@@ -0,0 +1,211 @@
+package datastructure;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+// 维护次数最多的k个元素
+// k个计数器放在一个按次数排序的最小堆中(IndexMaxHeap加上反向的比较器)，堆顶是k个中次数最少的，
+// 再用一个HashTable从元素找到它的计数器，内存只有O(k)
+// 次数可以由调用者给出(offer，例如来自精确计数或者CountMinSketch的估计)，
+// 也可以直接用increment逐个统计流中的元素，此时就是Space-Saving算法
+public class TopK<E> {
+
+    // 一个计数器：元素item被统计到count次，其中最多有error次是从被替换掉的元素继承来的，
+    // 即真实次数在[count - error, count]之间
+    public static class Entry<E> {
+        public E item;
+        public long count;
+        public long error;
+        private int slot;
+
+        private Entry(E item, long count, long error, int slot) {
+            this.item = item;
+            this.count = count;
+            this.error = error;
+            this.slot = slot;
+        }
+
+        @Override
+        public String toString() {
+            return item + " : " + count + (error > 0 ? " (error " + error + ")" : "");
+        }
+    }
+
+    private int k;
+    // 堆中的索引就是计数器的slot，计数器只会被替换，不会被删除，所以第i个计数器的slot就是i
+    private IndexMaxHeap<Entry<E>> heap;
+    private HashTable<E, Entry<E>> entries;
+
+    public TopK(int k) {
+        if (k <= 0)
+            throw new IllegalArgumentException("k must be positive");
+        this.k = k;
+        heap = new IndexMaxHeap<>(k, (a, b) -> Long.compare(b.count, a.count));
+        entries = new HashTable<>();
+    }
+
+    public int getK() {
+        return k;
+    }
+
+    public int getSize() {
+        return heap.size();
+    }
+
+    public boolean contains(E item) {
+        return entries.contains(item);
+    }
+
+    // 返回当前k个元素中最少的次数，不足k个时返回0，次数不超过它的新元素不会进入前k个
+    public long getMinCount() {
+        return heap.size() < k ? 0 : heap.findMax().count;
+    }
+
+    // 元素item的次数为count：item已经在前k个中时更新它的次数，
+    // 否则若还没有k个元素或者count大于当前最少的次数，用item替换掉次数最少的元素
+    public void offer(E item, long count) {
+        Entry<E> entry = entries.get(item);
+        if (entry != null) {
+            entry.count = count;
+            heap.change(entry.slot, entry);
+        } else if (heap.size() < k)
+            insert(item, count, 0);
+        else if (count > heap.findMax().count)
+            replaceMin(item, count, 0);
+    }
+
+    // Space-Saving：item出现一次
+    // item有计数器时加1；计数器不足k个时新建一个；否则替换次数最少的计数器，
+    // 新元素继承它的次数min再加1，并记下最多高估了min次
+    // 任何出现次数超过n / k的元素(n为流的长度)一定在计数器中
+    public void increment(E item) {
+        Entry<E> entry = entries.get(item);
+        if (entry != null) {
+            entry.count++;
+            heap.change(entry.slot, entry);
+        } else if (heap.size() < k)
+            insert(item, 1, 0);
+        else {
+            long min = heap.findMax().count;
+            replaceMin(item, min + 1, min);
+        }
+    }
+
+    private void insert(E item, long count, long error) {
+        Entry<E> entry = new Entry<>(item, count, error, heap.size());
+        entries.add(item, entry);
+        heap.add(entry.slot, entry);
+    }
+
+    // 复用次数最少的计数器
+    private void replaceMin(E item, long count, long error) {
+        Entry<E> entry = heap.findMax();
+        entries.remove(entry.item);
+        entry.item = item;
+        entry.count = count;
+        entry.error = error;
+        entries.add(item, entry);
+        heap.change(entry.slot, entry);
+    }
+
+    // 按次数从多到少返回当前的前k个元素，返回的是计数器的快照
+    public List<Entry<E>> top() {
+        ArrayList<Entry<E>> ret = new ArrayList<>(heap.size());
+        for (int i = 0; i < heap.size(); i++) {
+            Entry<E> entry = heap.get(i);
+            ret.add(new Entry<>(entry.item, entry.count, entry.error, i));
+        }
+        ret.sort(Comparator.comparingLong((Entry<E> e) -> e.count).reversed());
+        return ret;
+    }
+
+    // 用Space-Saving统计文件filename中出现次数最多的k个单词
+    public static TopK<String> spaceSaving(String filename, int k) throws IOException {
+        TopK<String> topK = new TopK<>(k);
+        new WordTokenizer(filename).forEach(word -> topK.increment(word.toString()));
+        return topK;
+    }
+
+    // 用CountMinSketch估计文件filename中每个单词的出现次数，按估计值保留最多的k个单词
+    public static TopK<String> countMin(String filename, int k, CountMinSketch<String> sketch) throws IOException {
+        TopK<String> topK = new TopK<>(k);
+        new WordTokenizer(filename).forEach(word -> {
+            String s = word.toString();
+            long estimate = sketch.add(s);
+            if (estimate > topK.getMinCount() || topK.contains(s))
+                topK.offer(s, estimate);
+        });
+        return topK;
+    }
+
+    public static void main(String[] args) {
+
+        String filename = "pride-and-prejudice.txt";
+        int k = 10;
+
+        System.out.println("Pride and Prejudice");
+
+        ArrayList<String> words = new ArrayList<>();
+        if (!FileOperation.readFile(filename, words))
+            return;
+
+        // 用树精确计数，再把每个单词的精确次数交给TopK，作为对照
+        AVLTree<String, Integer> exact = new AVLTree<>();
+        for (String word : words)
+            exact.merge(word, 1, (a, b) -> a + b);
+        TopK<String> expected = new TopK<>(k);
+        for (String word : words)
+            expected.offer(word, exact.get(word));
+        List<Entry<String>> expectedTop = expected.top();
+        System.out.println("Exact top " + k + " : " + expectedTop);
+
+        // 前k个的次数应该与精确计数排序后的前k个次数相同
+        ArrayList<Integer> counts = new ArrayList<>();
+        AVLTree<String, Integer> seen = new AVLTree<>();
+        for (String word : words)
+            if (!seen.contains(word)) {
+                seen.add(word, 0);
+                counts.add(exact.get(word));
+            }
+        counts.sort(Comparator.reverseOrder());
+        for (int i = 0; i < k; i++)
+            if (expectedTop.get(i).count != counts.get(i))
+                throw new RuntimeException("Error");
+
+        TopK<String> spaceSaving;
+        TopK<String> countMin;
+        CountMinSketch<String> sketch = new CountMinSketch<>(1 << 12, 4);
+        try {
+            spaceSaving = spaceSaving(filename, 100);
+            countMin = countMin(filename, k, sketch);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        // Space-Saving：真实次数在[count - error, count]之间，出现次数超过n / 100的单词都在其中
+        System.out.println("Space-Saving top " + k + " : " + spaceSaving.top().subList(0, k));
+        for (Entry<String> entry : spaceSaving.top()) {
+            int count = exact.get(entry.item);
+            if (count < entry.count - entry.error || count > entry.count)
+                throw new RuntimeException("Error");
+        }
+        for (Entry<String> entry : expectedTop)
+            if (entry.count > words.size() / 100 && !spaceSaving.contains(entry.item))
+                throw new RuntimeException("Error");
+
+        // CountMinSketch：估计值不小于真实次数
+        System.out.println("Count-Min top " + k + " : " + countMin.top());
+        int found = 0;
+        for (Entry<String> entry : countMin.top()) {
+            if (entry.count < exact.get(entry.item))
+                throw new RuntimeException("Error");
+            if (expected.contains(entry.item))
+                found++;
+        }
+        System.out.println("Count-Min found " + found + " of the exact top " + k);
+        System.out.println("OK");
+    }
+}
@@ -0,0 +1,12 @@
+package datastructure;
+
+// 区间更新的规则，与Merger一起交给LazySegmentTree
+// 例如区间加法求和：apply(value, u, length) = value + u * length，compose(first, second) = first + second
+public interface Updater<E, U> {
+
+    // 把更新u作用到一个长度为length的区间的融合结果value上，返回新的融合结果
+    E apply(E value, U u, int length);
+
+    // 先做更新first再做更新second，合起来等价于哪一次更新
+    U compose(U first, U second);
+}
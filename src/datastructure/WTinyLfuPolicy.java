@@ -0,0 +1,147 @@
+package datastructure;
+
+// W-TinyLFU：一个很小的LRU窗口加上一个分段LRU的主区，由TinyLFU决定谁能进入主区
+// 新的key先进入窗口(占总容量的1%)，窗口满了之后最老的key被挤出来，按先后排在候选段中等待进入主区；
+// 主区分为试用段和保护段(占主区的80%)，试用段中的key再次被访问时升入保护段，保护段满了就把最老的降回试用段
+// 需要淘汰时比较最早的候选者和试用段中最老的key，
+// 用CountMinSketch估计两者最近的访问频率，频率更高的留下，相等时留下老的，候选者留下就进入试用段；
+// 候选者单独排队，不和从保护段降下来的key混在一起，否则降下来的key会被当成候选者
+// 这样一次性扫过的大量新key进不了主区，不会冲掉热点，而窗口又让刚出现的突发热点有机会积累频率
+// 每记录10 * width次访问，sketch的计数器全部减半，让过去的热点逐渐老化
+public class WTinyLfuPolicy<K> implements EvictionPolicy<K> {
+
+    private static final int SKETCH_DEPTH = 4;
+    private static final int MAX_SKETCH_WIDTH = 1 << 20;
+
+    private LinkedHashMap<K, Long> window, candidates, probation, protect;
+    private long windowWeight, protectedWeight;
+    private long windowMax, protectedMax;
+
+    private CountMinSketch<K> sketch;
+    private long sampleSize;
+
+    public WTinyLfuPolicy(long maxWeight) {
+        if (maxWeight <= 0)
+            throw new IllegalArgumentException("maxWeight must be positive");
+
+        window = new LinkedHashMap<>(true);
+        candidates = new LinkedHashMap<>();
+        probation = new LinkedHashMap<>(true);
+        protect = new LinkedHashMap<>(true);
+        windowMax = Math.max(1, maxWeight / 100);
+        protectedMax = (maxWeight - windowMax) * 8 / 10;
+
+        sketch = new CountMinSketch<>((int) Math.max(16, Math.min(maxWeight, MAX_SKETCH_WIDTH)), SKETCH_DEPTH);
+        sampleSize = 10L * sketch.getWidth();
+    }
+
+    // 返回key最近的访问频率的估计值
+    public long frequency(K key) {
+        return sketch.estimate(key);
+    }
+
+    private void record(K key) {
+        sketch.add(key);
+        if (sketch.getTotal() >= sampleSize)
+            sketch.halve();
+    }
+
+    // 把窗口中超出的最老的key挤到候选段
+    private void evictWindow() {
+        while (windowWeight > windowMax) {
+            K key = window.getEldestKey();
+            long weight = window.removeEldest();
+            windowWeight -= weight;
+            candidates.add(key, weight);
+        }
+    }
+
+    // 把保护段中超出的最老的key降回试用段
+    private void demoteProtected() {
+        while (protectedWeight > protectedMax && protect.getSize() > 1) {
+            K key = protect.getEldestKey();
+            long weight = protect.removeEldest();
+            protectedWeight -= weight;
+            probation.add(key, weight);
+        }
+    }
+
+    @Override
+    public void onInsert(K key, long weight) {
+        record(key);
+        window.add(key, weight);
+        windowWeight += weight;
+        evictWindow();
+    }
+
+    @Override
+    public void onAccess(K key) {
+        record(key);
+        if (window.contains(key))
+            window.get(key);
+        else if (candidates.contains(key) || probation.contains(key)) {
+            // 候选者被再次访问，和试用段中的key一样直接升入保护段
+            long weight = candidates.contains(key) ? candidates.remove(key) : probation.remove(key);
+            protect.add(key, weight);
+            protectedWeight += weight;
+            demoteProtected();
+        } else
+            protect.get(key);
+    }
+
+    @Override
+    public void onUpdate(K key, long weight) {
+        if (window.contains(key)) {
+            windowWeight += weight - window.peek(key);
+            window.set(key, weight);
+        } else if (candidates.contains(key))
+            candidates.set(key, weight);
+        else if (probation.contains(key))
+            probation.set(key, weight);
+        else {
+            protectedWeight += weight - protect.peek(key);
+            protect.set(key, weight);
+        }
+        onAccess(key);
+        evictWindow();
+        demoteProtected();
+    }
+
+    @Override
+    public long onRemove(K key) {
+        Long weight = window.remove(key);
+        if (weight != null) {
+            windowWeight -= weight;
+            return weight;
+        }
+        weight = candidates.remove(key);
+        if (weight != null)
+            return weight;
+        weight = probation.remove(key);
+        if (weight != null)
+            return weight;
+        weight = protect.remove(key);
+        protectedWeight -= weight;
+        return weight;
+    }
+
+    // 候选者胜出时会被移入试用段，但不会删除任何key
+    @Override
+    public K victim() {
+        if (!candidates.isEmpty()) {
+            K candidate = candidates.getEldestKey();
+            if (probation.isEmpty())
+                return candidate;
+            K victim = probation.getEldestKey();
+            if (sketch.estimate(candidate) <= sketch.estimate(victim))
+                return candidate;
+            probation.add(candidate, candidates.remove(candidate));
+            return victim;
+        }
+        if (!probation.isEmpty())
+            return probation.getEldestKey();
+        if (!protect.isEmpty())
+            return protect.getEldestKey();
+        return window.getEldestKey();
+    }
+}
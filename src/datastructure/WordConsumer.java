@@ -0,0 +1,6 @@
+package datastructure;
+
+public interface WordConsumer {
+    // word是分词器复用的缓冲区，只在本次调用期间有效，需要保存时请调用toString()
+    void accept(CharSequence word);
+}
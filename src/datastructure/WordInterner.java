@@ -0,0 +1,98 @@
+package datastructure;
+
+import java.util.Arrays;
+
+// 单词驻留表，给每个不同的单词分配一个从0开始的连续id
+// 查找时直接比较CharSequence中的字符，已经出现过的单词不会再创建新的String，
+// 配合WordTokenizer使用时，只有第一次出现的单词才会分配内存
+public class WordInterner {
+
+    private static final double MAX_LOAD_FACTOR = 0.5;
+
+    // 槽位中存放的是id + 1，0表示空槽位
+    private int[] table;
+    private int[] hashes;
+    private String[] words;
+    private int size;
+
+    public WordInterner() {
+        table = new int[64];
+        hashes = new int[16];
+        words = new String[16];
+        size = 0;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    // 返回id对应的单词
+    public String get(int id) {
+        if (id < 0 || id >= size)
+            throw new IllegalArgumentException("Illegal id.");
+        return words[id];
+    }
+
+    // 返回word对应的String，保证相同内容的单词返回的是同一个对象
+    public String intern(CharSequence word) {
+        int id = id(word);
+        return words[id];
+    }
+
+    // 返回word对应的id，word第一次出现时为它分配一个新的id
+    public int id(CharSequence word) {
+        int h = hash(word);
+        int mask = table.length - 1;
+        int i = mix(h) & mask;
+        while (table[i] != 0) {
+            int id = table[i] - 1;
+            if (hashes[id] == h && contentEquals(words[id], word))
+                return id;
+            i = (i + 1) & mask;
+        }
+
+        if (size == words.length) {
+            words = Arrays.copyOf(words, size * 2);
+            hashes = Arrays.copyOf(hashes, size * 2);
+        }
+        words[size] = word.toString();
+        hashes[size] = h;
+        table[i] = ++size;
+        if (size >= table.length * MAX_LOAD_FACTOR)
+            resize(table.length * 2);
+        return size - 1;
+    }
+
+    // 和String.hashCode()的算法一致
+    private static int hash(CharSequence word) {
+        int h = 0;
+        for (int i = 0; i < word.length(); i++)
+            h = 31 * h + word.charAt(i);
+        return h;
+    }
+
+    private static int mix(int h) {
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static boolean contentEquals(String s, CharSequence word) {
+        if (s.length() != word.length())
+            return false;
+        for (int i = 0; i < s.length(); i++)
+            if (s.charAt(i) != word.charAt(i))
+                return false;
+        return true;
+    }
+
+    private void resize(int newCapacity) {
+        table = new int[newCapacity];
+        int mask = newCapacity - 1;
+        for (int id = 0; id < size; id++) {
+            int i = mix(hashes[id]) & mask;
+            while (table[i] != 0)
+                i = (i + 1) & mask;
+            table[i] = id + 1;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package datastructure;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+// 基于内存映射的流式分词器
+// 按窗口把UTF-8文件映射进内存，逐字节扫描，把连续的字母转成小写后拼成一个单词交给WordConsumer
+// 单词保存在一个复用的char数组里，每个单词不会产生任何分配，整个文件也不会被读进堆内存，
+// 所以几个G的语料也可以在常数内存下处理完
+// 分词规则和FileOperation.readFile一致：连续的字母(Character.isLetter)构成一个单词
+public class WordTokenizer {
+
+    // 每次映射的窗口大小
+    private static final int WINDOW = 64 << 20;
+
+    private String filename;
+    private Word word;
+
+    public WordTokenizer(String filename) {
+        this.filename = filename;
+        word = new Word();
+    }
+
+    // 复用的单词缓冲区
+    private static class Word implements CharSequence {
+        private char[] chars = new char[64];
+        private int length;
+
+        private void append(char c) {
+            if (length == chars.length) {
+                char[] newChars = new char[chars.length * 2];
+                System.arraycopy(chars, 0, newChars, 0, length);
+                chars = newChars;
+            }
+            chars[length++] = c;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index < 0 || index >= length)
+                throw new IndexOutOfBoundsException("index: " + index);
+            return chars[index];
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return toString().substring(start, end);
+        }
+
+        @Override
+        public String toString() {
+            return new String(chars, 0, length);
+        }
+    }
+
+    // 依次把文件中的每个单词交给consumer
+    public void forEach(WordConsumer consumer) throws IOException {
+        forEach(0, Long.MAX_VALUE, consumer);
+    }
+
+    // 依次把文件中字节区间[from, to)里的每个单词交给consumer
+    // 区间的两端应该落在单词之外，否则边界上的单词会被切成两半，见splitPoints
+    public void forEach(long from, long to, WordConsumer consumer) throws IOException {
+        word.length = 0;
+        try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ)) {
+            long end = Math.min(to, channel.size());
+            long pos = from;
+            while (pos < end) {
+                int n = (int) Math.min(WINDOW, end - pos);
+                boolean last = pos + n == end;
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, pos, n);
+                pos += scan(buffer, n, last, consumer);
+            }
+        }
+        flush(consumer);
+    }
+
+    // 把文件大致均匀地切成parts段，返回parts + 1个切分点，第一个是0，最后一个是文件大小
+    // 每个切分点都向后移到一个ASCII的非字母字符上，保证不会把一个单词或一个多字节字符切开
+    public long[] splitPoints(int parts) throws IOException {
+        if (parts <= 0)
+            throw new IllegalArgumentException("parts must be positive.");
+        try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            long[] points = new long[parts + 1];
+            ByteBuffer one = ByteBuffer.allocate(1);
+            for (int i = 1; i < parts; i++) {
+                long p = Math.max(points[i - 1], fileSize / parts * i);
+                while (p < fileSize) {
+                    one.clear();
+                    channel.read(one, p);
+                    int b = one.get(0);
+                    if (b >= 0 && !(b >= 'a' && b <= 'z') && !(b >= 'A' && b <= 'Z'))
+                        break;
+                    p++;
+                }
+                points[i] = p;
+            }
+            points[parts] = fileSize;
+            return points;
+        }
+    }
+
+    // 扫描窗口中的n个字节，返回实际处理了的字节数
+    // 如果窗口末尾是一个不完整的多字节字符，就停在它前面，留给下一个窗口处理
+    private int scan(MappedByteBuffer buffer, int n, boolean last, WordConsumer consumer) {
+        int i = 0;
+        while (i < n) {
+            int b = buffer.get(i);
+
+            // ASCII的快速路径，直接就地转成小写
+            if (b >= 0) {
+                if (b >= 'a' && b <= 'z')
+                    word.append((char) b);
+                else if (b >= 'A' && b <= 'Z')
+                    word.append((char) (b + ('a' - 'A')));
+                else
+                    flush(consumer);
+                i++;
+                continue;
+            }
+
+            int extra = (b & 0xE0) == 0xC0 ? 1 : (b & 0xF0) == 0xE0 ? 2 : (b & 0xF8) == 0xF0 ? 3 : -1;
+            if (extra > 0 && i + extra >= n && !last)
+                break;
+
+            int codePoint = decode(buffer, i, extra, n);
+            if (codePoint >= 0 && Character.isLetter(codePoint)) {
+                codePoint = Character.toLowerCase(codePoint);
+                if (Character.isBmpCodePoint(codePoint))
+                    word.append((char) codePoint);
+                else {
+                    word.append(Character.highSurrogate(codePoint));
+                    word.append(Character.lowSurrogate(codePoint));
+                }
+            } else
+                flush(consumer);
+            i += codePoint >= 0 ? extra + 1 : 1;
+        }
+        return i;
+    }
+
+    // 解码从i开始的一个extra + 1字节的UTF-8字符，不合法时返回-1
+    private static int decode(MappedByteBuffer buffer, int i, int extra, int n) {
+        if (extra < 0 || i + extra >= n)
+            return -1;
+        int codePoint = buffer.get(i) & (0x3F >> extra);
+        for (int k = 1; k <= extra; k++) {
+            int b = buffer.get(i + k);
+            if ((b & 0xC0) != 0x80)
+                return -1;
+            codePoint = (codePoint << 6) | (b & 0x3F);
+        }
+        return codePoint;
+    }
+
+    // 如果缓冲区中有单词，交给consumer后清空
+    private void flush(WordConsumer consumer) {
+        if (word.length > 0) {
+            consumer.accept(word);
+            word.length = 0;
+        }
+    }
+}